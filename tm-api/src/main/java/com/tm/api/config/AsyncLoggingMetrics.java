@@ -0,0 +1,42 @@
+package com.tm.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exports {@code logging.events.dropped} (per level) and
+ * {@code logging.async.queue.size} when logback-spring.xml routes the root
+ * logger through the {@link PriorityAsyncAppender} (prod or async-logging profile).
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    static final String APPENDER_NAME = "ASYNC";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)
+                || !(context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(APPENDER_NAME)
+                        instanceof PriorityAsyncAppender appender)) {
+            return;
+        }
+        for (Level level : List.of(Level.TRACE, Level.DEBUG, Level.INFO)) {
+            FunctionCounter.builder("logging.events.dropped", appender, a -> a.getDroppedCount(level))
+                    .description("Log events dropped because the async buffer was too full")
+                    .tag("level", level.toString())
+                    .register(registry);
+        }
+        Gauge.builder("logging.async.queue.size", appender, PriorityAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting to be written")
+                .register(registry);
+    }
+}
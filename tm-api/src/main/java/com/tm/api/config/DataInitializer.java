@@ -7,6 +7,8 @@ import com.tm.api.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -14,14 +16,24 @@ import java.util.List;
 
 @Slf4j
 @Component
+@ConditionalOnProperty(name = "tm.seed.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SeedProperties.class)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
     private final TaskRepository taskRepository;
+    private final SeedProperties seedProperties;
+    private final SyntheticDataGenerator syntheticDataGenerator;
 
     @Override
     public void run(String... args) {
-        if (taskRepository.count() == 0) {
+        boolean empty = taskRepository.count() == 0;
+        if (empty && seedProperties.getMode() == SeedProperties.Mode.SYNTHETIC) {
+            SeedProperties.Synthetic synthetic = seedProperties.getSynthetic();
+            log.info("Database is empty. Generating {} synthetic tasks...", synthetic.getTasks());
+            syntheticDataGenerator.generate(synthetic.getTasks(), synthetic.getRandomSeed(),
+                    synthetic.getBatchSize());
+        } else if (empty) {
             log.info("Database is empty. Seeding initial data...");
             
             List<Task> initialTasks = List.of(
@@ -31,7 +43,6 @@ public class DataInitializer implements CommandLineRunner {
                     .status(TaskStatus.DONE)
                     .priority(Priority.MEDIUM)
                     .dueDate(LocalDateTime.now().plusDays(1))
-                    .deleted(false)
                     .build(),
                 Task.builder()
                     .title("Resolver exercícios de arrays")
@@ -39,7 +50,6 @@ public class DataInitializer implements CommandLineRunner {
                     .status(TaskStatus.DONE)
                     .priority(Priority.LOW)
                     .dueDate(LocalDateTime.now().plusDays(2))
-                    .deleted(false)
                     .build(),
                 Task.builder()
                     .title("Mini-projeto: to-do em JavaScript")
@@ -47,7 +57,6 @@ public class DataInitializer implements CommandLineRunner {
                     .status(TaskStatus.DOING)
                     .priority(Priority.HIGH)
                     .dueDate(LocalDateTime.now().plusDays(3))
-                    .deleted(false)
                     .build(),
                 Task.builder()
                     .title("Estudar Git e GitHub")
@@ -55,7 +64,6 @@ public class DataInitializer implements CommandLineRunner {
                     .status(TaskStatus.TODO)
                     .priority(Priority.MEDIUM)
                     .dueDate(LocalDateTime.now().plusDays(5))
-                    .deleted(false)
                     .build(),
                 Task.builder()
                     .title("Revisar testes unitários")
@@ -63,7 +71,6 @@ public class DataInitializer implements CommandLineRunner {
                     .status(TaskStatus.TODO)
                     .priority(Priority.HIGH)
                     .dueDate(LocalDateTime.now().plusDays(7))
-                    .deleted(false)
                     .build()
             );
             
@@ -0,0 +1,57 @@
+package com.tm.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+
+/**
+ * Read/write splitting. Active only with {@code tm.datasource.replica.enabled=true};
+ * otherwise Spring Boot's single auto-configured datasource is used.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(name = "tm.datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public DataSource replicaDataSource(DataSourceProperties primary, ReplicaDataSourceProperties replica) {
+        return DataSourceBuilder.create()
+                .driverClassName(primary.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+    }
+
+    @Bean
+    public ReplicaStalenessPolicy replicaStalenessPolicy(ReplicaDataSourceProperties replica) {
+        return new ReplicaStalenessPolicy(replica.getMaxLag(), replica.getReadYourWritesWindow(),
+                replica.getLocalSync().isEnabled(), Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaStalenessPolicy stalenessPolicy) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, stalenessPolicy);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
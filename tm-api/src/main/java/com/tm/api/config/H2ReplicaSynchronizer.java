@@ -0,0 +1,89 @@
+package com.tm.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps a second H2 database in sync with the primary by snapshotting it with
+ * SCRIPT and replaying it with RUNSCRIPT. A local stand-in for real
+ * replication. Before the replica is rebuilt, new reads are sent to the
+ * primary and the reads already running on it are allowed to finish.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = { "tm.datasource.replica.enabled", "tm.datasource.replica.local-sync.enabled" }, havingValue = "true")
+public class H2ReplicaSynchronizer {
+
+    /** How long a sync waits for reads still using the replica before giving up for this round. */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaStalenessPolicy stalenessPolicy;
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    public H2ReplicaSynchronizer(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaStalenessPolicy stalenessPolicy) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stalenessPolicy = stalenessPolicy;
+    }
+
+    @Scheduled(fixedDelayString = "${tm.datasource.replica.local-sync.interval:PT2S}")
+    public void sync() {
+        syncLock.lock();
+        try {
+            Path snapshot = null;
+            try {
+                snapshot = Files.createTempFile("tm-replica-", ".sql");
+                String file = snapshot.toAbsolutePath().toString().replace("'", "''");
+
+                Instant snapshotTakenAt = Instant.now();
+                try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("SCRIPT TO '" + file + "'");
+                }
+
+                stalenessPolicy.markUnavailable();
+                if (!stalenessPolicy.awaitReplicaIdle(DRAIN_TIMEOUT)) {
+                    // Reads still running on the old copy; it stays unavailable until the next round
+                    log.warn("Replica reads did not finish within {}, skipping this sync", DRAIN_TIMEOUT);
+                    return;
+                }
+                try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+                    statement.execute("DROP ALL OBJECTS");
+                    statement.execute("RUNSCRIPT FROM '" + file + "'");
+                }
+                stalenessPolicy.markSynced(snapshotTakenAt);
+                log.debug("Replica synchronized from snapshot taken at {}", snapshotTakenAt);
+            } catch (SQLException | IOException e) {
+                log.error("Failed to synchronize replica", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (snapshot != null) {
+                    try {
+                        Files.deleteIfExists(snapshot);
+                    } catch (IOException e) {
+                        log.warn("Could not remove replica snapshot {}", snapshot);
+                    }
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.tm.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes retried writes safe: a POST to one of {@code tm.idempotency.paths} with
+ * an {@value #HEADER} header runs once, and every retry with the same key and
+ * body within the TTL gets the stored response (marked {@value #REPLAYED_HEADER})
+ * instead of repeating the write and its audit events. Duplicates that arrive
+ * while the first request is still running wait for its response. Reusing a key
+ * for a different body is rejected with 422; server errors are not stored.
+ * Requests without the header are unaffected.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final MeterRegistry meterRegistry;
+    private final Counter workSaved;
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.workSaved = Counter.builder("idempotency.work_saved")
+                .description("Execution time of the original request, counted for every replay of it")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getHeader(HEADER) == null
+                || !"POST".equals(request.getMethod())
+                || !properties.getPaths().contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            count("invalid");
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    HEADER + " must have 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(body);
+        String key = path(request) + " " + idempotencyKey;
+        IdempotencyStore.Entry claim = store.claim(key, fingerprint);
+
+        if (!claim.fingerprint().equals(fingerprint)) {
+            count("mismatch");
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        if (!claim.owner()) {
+            replay(claim, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper caching = new ContentCachingResponseWrapper(response);
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), caching);
+        } catch (IOException | ServletException | RuntimeException e) {
+            store.fail(key, claim, e);
+            throw e;
+        }
+        int status = caching.getStatus();
+        store.complete(key, claim, new IdempotencyStore.StoredResponse(status, caching.getContentType(),
+                caching.getHeader(HttpHeaders.LOCATION), caching.getContentAsByteArray(),
+                System.nanoTime() - started), status < 500);
+        count("executed");
+        caching.copyBodyToResponse();
+    }
+
+    private void replay(IdempotencyStore.Entry claim, HttpServletResponse response) throws IOException {
+        boolean inFlight = !claim.response().isDone();
+        IdempotencyStore.StoredResponse stored;
+        try {
+            stored = claim.response().get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            count("conflict");
+            response.sendError(HttpStatus.CONFLICT.value(), "A request with this " + HEADER + " is in progress");
+            return;
+        } catch (ExecutionException e) {
+            count("conflict");
+            response.sendError(HttpStatus.CONFLICT.value(), "The request with this " + HEADER + " failed, retry it");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for " + HEADER, e);
+        }
+
+        count(inFlight ? "coalesced" : "replayed");
+        workSaved.increment(stored.elapsedNanos() / (double) Duration.ofSeconds(1).toNanos());
+        log.debug("Replaying stored {} response for a retried request", stored.status());
+
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /** executed, replayed (stored response), coalesced (waited for a running one), conflict, mismatch, invalid. */
+    private void count(String outcome) {
+        meterRegistry.counter("idempotency.requests", "outcome", outcome).increment();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The body was read to fingerprint it, so the controller gets it from memory. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.tm.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replay of POST responses for retried requests carrying an
+ * {@value IdempotencyFilter#HEADER} header, see {@link IdempotencyFilter}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tm.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /** POST paths that honour the header; other requests ignore it. */
+    private List<String> paths = new ArrayList<>(List.of("/tasks", "/tasks/bulk-status", "/tasks/reorder"));
+
+    /** How long a stored response is replayed for retries of the same key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Keys kept at most; the oldest are evicted first. */
+    private int maxEntries = 10_000;
+
+    /** How long a duplicate waits for the first request with its key before getting a 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+}
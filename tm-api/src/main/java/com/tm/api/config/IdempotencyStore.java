@@ -0,0 +1,116 @@
+package com.tm.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Responses of idempotent requests by key, in insertion order so the oldest
+ * key is evicted when the store is full and expired keys are dropped from the
+ * head. A key is claimed before its request runs: later requests with the same
+ * key share the claim's future, whether it is still running or already done.
+ * A lock rather than {@code synchronized} keeps virtual threads unpinned.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter evictions;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.evictions = meterRegistry.counter("idempotency.store.evictions");
+        Gauge.builder("idempotency.store.size", this, IdempotencyStore::size).register(meterRegistry);
+    }
+
+    /** A stored response; {@code elapsedNanos} is what running the request again would have cost. */
+    public record StoredResponse(int status, String contentType, String location, byte[] body, long elapsedNanos) {
+    }
+
+    /**
+     * The claim on a key. {@code owner} is true for the request that must run and
+     * {@link #complete} it; everyone else waits on {@code response}.
+     */
+    public record Entry(String fingerprint, CompletableFuture<StoredResponse> response, long expiresAt,
+            boolean owner) {
+    }
+
+    public Entry claim(String key, String fingerprint) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            expire(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return new Entry(existing.fingerprint(), existing.response(), existing.expiresAt(), false);
+            }
+            Entry claimed = new Entry(fingerprint, new CompletableFuture<>(), now + properties.getTtl().toNanos(),
+                    true);
+            entries.put(key, claimed);
+            if (entries.size() > properties.getMaxEntries()) {
+                Iterator<Entry> oldest = entries.values().iterator();
+                oldest.next();
+                oldest.remove();
+                evictions.increment();
+            }
+            return claimed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publishes the owner's response to waiting duplicates. Only responses worth
+     * replaying stay stored; after a server error the key is released so the
+     * next retry runs again.
+     */
+    public void complete(String key, Entry claim, StoredResponse response, boolean keep) {
+        if (!keep) {
+            release(key, claim);
+        }
+        claim.response().complete(response);
+    }
+
+    /** Releases a claim whose request failed without a response. */
+    public void fail(String key, Entry claim, Throwable failure) {
+        release(key, claim);
+        claim.response().completeExceptionally(failure);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(String key, Entry claim) {
+        lock.lock();
+        try {
+            entries.remove(key, claim);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt() - now > 0) {
+                return;
+            }
+            it.remove();
+        }
+    }
+}
@@ -2,17 +2,27 @@ package com.tm.api.config;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
+@EnableConfigurationProperties(RequestLogProperties.class)
+@RequiredArgsConstructor
 public class PerformanceInterceptor implements HandlerInterceptor {
 
+    private final RequestLogProperties properties;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        request.setAttribute("startTime", System.currentTimeMillis());
+        request.setAttribute("startTime", System.nanoTime());
         return true;
     }
 
@@ -20,8 +30,26 @@ public class PerformanceInterceptor implements HandlerInterceptor {
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
             Exception ex) {
         long startTime = (long) request.getAttribute("startTime");
-        long duration = System.currentTimeMillis() - startTime;
-        log.info("API Request: {} {} | Status: {} | Duration: {}ms",
-                request.getMethod(), request.getRequestURI(), response.getStatus(), duration);
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        int status = response.getStatus();
+
+        // Errors and slow requests are always logged; routine ones are sampled per route
+        if (ex != null || status >= 400) {
+            log.warn("API Request: {} {} | Status: {} | Duration: {}ms | Error: {}",
+                    request.getMethod(), request.getRequestURI(), status, duration,
+                    ex != null ? ex.toString() : "-");
+        } else if (duration >= properties.getSlowThreshold().toMillis()) {
+            log.warn("Slow API Request: {} {} | Status: {} | Duration: {}ms",
+                    request.getMethod(), request.getRequestURI(), status, duration);
+        } else if (log.isInfoEnabled() && sampled(request)) {
+            log.info("API Request: {} {} | Status: {} | Duration: {}ms",
+                    request.getMethod(), request.getRequestURI(), status, duration);
+        }
+    }
+
+    private boolean sampled(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        double rate = properties.sampleRate(pattern != null ? pattern.toString() : request.getRequestURI());
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
     }
 }
@@ -0,0 +1,44 @@
+package com.tm.api.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded ring-buffer appender that sheds the least important events first:
+ * TRACE and DEBUG are dropped once fewer than {@code discardingThreshold} slots
+ * are left, INFO only when the buffer is full, and WARN/ERROR wait for a slot.
+ * Dropped events are counted per level for the {@code logging.events.dropped}
+ * metric.
+ */
+public class PriorityAsyncAppender extends AsyncAppender {
+
+    private final Map<Level, LongAdder> dropped = new ConcurrentHashMap<>();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int level = event.getLevel().toInt();
+        int remaining = getRemainingCapacity();
+        if ((level <= Level.DEBUG_INT && remaining < getDiscardingThreshold())
+                || (level <= Level.INFO_INT && remaining == 0)) {
+            dropped.computeIfAbsent(event.getLevel(), l -> new LongAdder()).increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /** Shedding is decided in {@link #append}; the base class must not drop anything else. */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return false;
+    }
+
+    public long getDroppedCount(Level level) {
+        LongAdder count = dropped.get(level);
+        return count == null ? 0 : count.sum();
+    }
+}
@@ -9,7 +9,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
@@ -32,18 +32,25 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         return false;
     }
 
+    /**
+     * Lock-free fixed window: the window start and count are swapped together with
+     * a compare-and-set, so request threads never block (or pin a virtual thread)
+     * on the counter.
+     */
     private static class RequestCounter {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private long lastResetTime = System.currentTimeMillis();
+        private final AtomicReference<Window> window = new AtomicReference<>(new Window(System.currentTimeMillis(), 0));
 
-        public synchronized boolean incrementAndCheckLimit() {
+        public boolean incrementAndCheckLimit() {
             long currentTime = System.currentTimeMillis();
-            if (currentTime - lastResetTime > TimeUnit.MINUTES.toMillis(1)) {
-                count.set(0);
-                lastResetTime = currentTime;
-            }
+            Window updated = window.updateAndGet(current ->
+                    currentTime - current.startedAt() > TimeUnit.MINUTES.toMillis(1)
+                            ? new Window(currentTime, 1)
+                            : new Window(current.startedAt(), current.count() + 1));
 
-            return count.incrementAndGet() <= MAX_REQUESTS_PER_MINUTE;
+            return updated.count() <= MAX_REQUESTS_PER_MINUTE;
         }
     }
+
+    private record Window(long startedAt, int count) {
+    }
 }
@@ -0,0 +1,46 @@
+package com.tm.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for routing read-only transactions to a replica database.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tm.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username = "sa";
+
+    private String password = "";
+
+    /** Reads fall back to the primary when the replica was last synced longer ago than this. */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Without local sync, lag is unknown: reads stay on the primary for this long
+     * after each committed write. With local sync, reads wait for a newer snapshot instead.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    private LocalSync localSync = new LocalSync();
+
+    /**
+     * Local stand-in for database replication: copies the primary H2 database
+     * into the replica on a fixed delay. Not meant for production.
+     */
+    @Getter
+    @Setter
+    public static class LocalSync {
+        private boolean enabled = false;
+        private Duration interval = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,91 @@
+package com.tm.api.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the
+ * replica and everything else to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so
+ * the connection is fetched after the transaction's read-only flag is bound.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaStalenessPolicy stalenessPolicy;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaStalenessPolicy stalenessPolicy) {
+        this.stalenessPolicy = stalenessPolicy;
+        setTargetDataSources(Map.of(
+                Route.PRIMARY, primary,
+                Route.REPLICA, new TrackedReplica(replica, stalenessPolicy)));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return stalenessPolicy.tryAcquireReplicaRead() ? Route.REPLICA : Route.PRIMARY;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only a committed write is one the replica can be behind on
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stalenessPolicy.recordWrite();
+                }
+            });
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            stalenessPolicy.recordWrite();
+        }
+        return Route.PRIMARY;
+    }
+
+    /** Hands out replica connections that release their read registration when closed. */
+    private static final class TrackedReplica extends DelegatingDataSource {
+
+        private final ReplicaStalenessPolicy stalenessPolicy;
+
+        TrackedReplica(DataSource replica, ReplicaStalenessPolicy stalenessPolicy) {
+            super(replica);
+            this.stalenessPolicy = stalenessPolicy;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection;
+            try {
+                connection = super.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                stalenessPolicy.releaseReplicaRead();
+                throw e;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                                stalenessPolicy.releaseReplicaRead();
+                            }
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tm.api.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides whether a read-only transaction may be served by the replica.
+ * When replication is tracked, the replica is used only if its snapshot is
+ * newer than the last committed write and younger than the max lag. Without
+ * tracking, reads stay on the primary for the read-your-writes window after
+ * each commit.
+ * <p>
+ * Replica connections are counted so that a resync can wait for the reads
+ * still running on the old copy before rebuilding it.
+ */
+public class ReplicaStalenessPolicy {
+
+    private final Duration maxLag;
+    private final Duration readYourWritesWindow;
+    private final boolean lagTracked;
+    private final Clock clock;
+
+    private final AtomicReference<Instant> lastWriteAt = new AtomicReference<>(Instant.EPOCH);
+    private volatile Instant syncedAt;
+
+    private final AtomicInteger replicaReads = new AtomicInteger();
+    private final ReentrantLock idleLock = new ReentrantLock();
+    private final Condition idle = idleLock.newCondition();
+
+    public ReplicaStalenessPolicy(Duration maxLag, Duration readYourWritesWindow, boolean lagTracked, Clock clock) {
+        this.maxLag = maxLag;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.lagTracked = lagTracked;
+        this.clock = clock;
+    }
+
+    public boolean allowsReplicaRead() {
+        Instant now = clock.instant();
+        Instant lastWrite = lastWriteAt.get();
+        if (lagTracked) {
+            Instant synced = syncedAt;
+            return synced != null && synced.isAfter(lastWrite) && !synced.plus(maxLag).isBefore(now);
+        }
+        return !lastWrite.plus(readYourWritesWindow).isAfter(now);
+    }
+
+    /**
+     * Registers a read on the replica if it may serve one. Every {@code true}
+     * must be matched by {@link #releaseReplicaRead()} once the connection is closed.
+     */
+    public boolean tryAcquireReplicaRead() {
+        if (!allowsReplicaRead()) {
+            return false;
+        }
+        replicaReads.incrementAndGet();
+        // markUnavailable may have run in between; its drain no longer waits for us
+        if (lagTracked && syncedAt == null) {
+            releaseReplicaRead();
+            return false;
+        }
+        return true;
+    }
+
+    public void releaseReplicaRead() {
+        if (replicaReads.decrementAndGet() == 0) {
+            idleLock.lock();
+            try {
+                idle.signalAll();
+            } finally {
+                idleLock.unlock();
+            }
+        }
+    }
+
+    /** Call once a write transaction has committed, so the replica is known to miss it. */
+    public void recordWrite() {
+        lastWriteAt.accumulateAndGet(clock.instant(), (previous, now) -> now.isAfter(previous) ? now : previous);
+    }
+
+    /** The replica holds every change committed before {@code snapshotTakenAt}. */
+    public void markSynced(Instant snapshotTakenAt) {
+        this.syncedAt = snapshotTakenAt;
+    }
+
+    /** New reads go to the primary from now on; reads already on the replica keep running. */
+    public void markUnavailable() {
+        this.syncedAt = null;
+    }
+
+    /** Waits until no read is using the replica; false if some are still running after {@code timeout}. */
+    public boolean awaitReplicaIdle(Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        idleLock.lock();
+        try {
+            while (replicaReads.get() > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = idle.awaitNanos(remaining);
+            }
+            return true;
+        } finally {
+            idleLock.unlock();
+        }
+    }
+
+    public Duration currentLag() {
+        Instant synced = syncedAt;
+        return synced == null ? null : Duration.between(synced, clock.instant());
+    }
+}
@@ -0,0 +1,66 @@
+package com.tm.api.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Wraps every Spring Data repository proxy so each call's SQL is captured and
+ * calls over the threshold land in the {@link SlowQueryLog}. Per-method timers
+ * come from Spring Boot's {@code spring.data.repository.invocations} metric.
+ */
+@Component
+public class RepositoryQueryMonitor implements BeanPostProcessor {
+
+    // Resolved on first use: a post-processor must not pull the DataSource in early
+    private final ObjectProvider<SqlStatementCounter> counter;
+    private final ObjectProvider<SlowQueryLog> slowQueryLog;
+
+    public RepositoryQueryMonitor(ObjectProvider<SqlStatementCounter> counter,
+            ObjectProvider<SlowQueryLog> slowQueryLog) {
+        this.counter = counter;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new Interceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private final class Interceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        Interceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            SqlStatementCounter statements = counter.getObject();
+            // Nested repository calls are part of the outer one
+            boolean outermost = statements.startCapture();
+            long started = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                if (outermost) {
+                    long elapsed = System.nanoTime() - started;
+                    List<String> captured = statements.stopCapture();
+                    slowQueryLog.getObject().record(repository, invocation.getMethod().getName(),
+                            invocation.getArguments(), elapsed, captured);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.tm.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sampling of the per-request access log written by {@link PerformanceInterceptor}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tm.request-log")
+public class RequestLogProperties {
+
+    /** Share of routine requests that are logged, from 0.0 (none) to 1.0 (all). */
+    private double sampleRate = 1.0;
+
+    /** Per-route overrides keyed by the route pattern, e.g. {@code [/tasks/{id}]=0.01}. */
+    private Map<String, Double> routes = new HashMap<>();
+
+    /** Requests at least this slow are always logged, as are 4xx/5xx responses and errors. */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    public double sampleRate(String route) {
+        return routes.getOrDefault(route, sampleRate);
+    }
+}
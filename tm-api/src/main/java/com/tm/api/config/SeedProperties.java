@@ -0,0 +1,38 @@
+package com.tm.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup seeding of an empty database.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "tm.seed")
+public class SeedProperties {
+
+    private boolean enabled = true;
+
+    /** DEMO inserts a handful of sample tasks; SYNTHETIC generates a large board. */
+    private Mode mode = Mode.DEMO;
+
+    private Synthetic synthetic = new Synthetic();
+
+    public enum Mode {
+        DEMO, SYNTHETIC
+    }
+
+    /**
+     * Size and shape of a generated board. The same random seed generates the
+     * same rows on the same day.
+     */
+    @Getter
+    @Setter
+    public static class Synthetic {
+        private int tasks = 10_000;
+        private long randomSeed = 42;
+        /** Tasks written per JDBC batch and transaction (children follow their tasks). */
+        private int batchSize = 1_000;
+    }
+}
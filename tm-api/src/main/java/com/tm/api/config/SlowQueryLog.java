@@ -0,0 +1,160 @@
+package com.tm.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The most recent repository calls slower than {@code tm.slow-query.threshold},
+ * with the shape of their arguments (types and sizes, never values) and the SQL
+ * Hibernate ran. H2 EXPLAIN plans are produced when the log is read, on the
+ * reader's connection, so a slow request never waits for a second one. Plans
+ * are cached per SQL string, least recently read evicted first, up to the
+ * same capacity as the log.
+ */
+@Slf4j
+@Component
+public class SlowQueryLog {
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final int capacity;
+
+    private final Deque<Capture> captures = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Map<String, String> plans;
+
+    public SlowQueryLog(DataSource dataSource, MeterRegistry meterRegistry,
+            @Value("${tm.slow-query.threshold:PT0.1S}") Duration threshold,
+            @Value("${tm.slow-query.capacity:100}") int capacity) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.capacity = capacity;
+        this.plans = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public record SlowQuery(Instant at, String repository, String method, List<String> parameters,
+            long durationMillis, List<Statement> statements) {
+    }
+
+    public record Statement(String sql, String plan) {
+    }
+
+    public void record(String repository, String method, Object[] arguments, long elapsedNanos,
+            List<String> statements) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        List<String> parameters = arguments == null ? List.of()
+                : Arrays.stream(arguments).map(SlowQueryLog::shape).toList();
+        long millis = Duration.ofNanos(elapsedNanos).toMillis();
+        log.warn("Slow repository call {}.{}({}) took {} ms, {} statement(s)", repository, method,
+                String.join(", ", parameters), millis, statements.size());
+        meterRegistry.counter("repository.slow_queries", "repository", repository, "method", method).increment();
+
+        captures.addFirst(new Capture(Instant.now(), repository, method, parameters, millis, List.copyOf(statements)));
+        if (size.incrementAndGet() > capacity && captures.pollLast() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /** Newest first. */
+    public List<SlowQuery> entries() {
+        return captures.stream()
+                .map(c -> new SlowQuery(c.at(), c.repository(), c.method(), c.parameters(), c.durationMillis(),
+                        c.statements().stream().map(sql -> new Statement(sql, plan(sql))).toList()))
+                .toList();
+    }
+
+    public void clear() {
+        captures.clear();
+        size.set(0);
+        plans.clear();
+    }
+
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    private String plan(String sql) {
+        String plan = plans.get(sql);
+        if (plan == null) {
+            // EXPLAIN runs outside the map's lock, so concurrent readers may each explain a new statement once
+            plan = explain(sql);
+            plans.put(sql, plan);
+        }
+        return plan;
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // Plans are chosen at prepare time, so unbound values do not change them
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString().trim();
+            }
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    static String shape(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument instanceof Collection<?> collection) {
+            return argument.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+        if (argument instanceof Pageable pageable) {
+            return pageable.isPaged()
+                    ? "Pageable[page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize()
+                            + ", sort=" + pageable.getSort() + "]"
+                    : "Pageable[unpaged]";
+        }
+        if (argument instanceof CharSequence text) {
+            return "String[" + text.length() + "]";
+        }
+        if (argument instanceof Enum<?> value) {
+            return value.getDeclaringClass().getSimpleName() + "." + value.name();
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    private record Capture(Instant at, String repository, String method, List<String> parameters,
+            long durationMillis, List<String> statements) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.tm.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Reports the SQL statements each request ran: an {@value #HEADER} response
+ * header (set when the body starts, so statements issued while streaming are
+ * only in the metric), an {@code http.server.sql.statements} distribution per
+ * route, and a warning when one statement shape repeats more than the N+1
+ * threshold within a single request.
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final SqlStatementCounter counter;
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+
+    public SqlStatementCountFilter(SqlStatementCounter counter, MeterRegistry meterRegistry,
+            @Value("${tm.sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.counter = counter;
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        counter.begin();
+        try {
+            chain.doFilter(request, countingResponse);
+        } finally {
+            countingResponse.writeHeader();
+            record(request, counter.end());
+        }
+    }
+
+    private void record(HttpServletRequest request, Map<String, Integer> shapes) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNKNOWN";
+        int total = shapes.values().stream().mapToInt(Integer::intValue).sum();
+
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements run by Hibernate per request")
+                .tag("method", request.getMethod())
+                .tag("uri", route)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(total);
+
+        shapes.forEach((shape, executions) -> {
+            if (executions > repeatThreshold) {
+                log.warn("Possible N+1 on {} {}: {} executions of [{}]", request.getMethod(), route, executions,
+                        shape);
+            }
+        });
+    }
+
+    /** Adds the count header right before the response body is first written. */
+    private final class CountingResponse extends HttpServletResponseWrapper {
+
+        private boolean headerWritten;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(counter.count()));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tm.api.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #begin()} and {@link #end()}, grouped by statement shape (literals and
+ * IN lists collapsed) so repeated per-row queries stand out, and captures the
+ * statement text between {@link #startCapture()} and {@link #stopCapture()}.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not seen.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_CAPTURED = 20;
+
+    private final ThreadLocal<Statements> current = new ThreadLocal<>();
+    private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+    /** Inspector configured through hibernate.session_factory.statement_inspector, if any. */
+    private StatementInspector configured;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        configured = instantiate(hibernateProperties.get(AvailableSettings.STATEMENT_INSPECTOR));
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String inspected = configured != null ? configured.inspect(sql) : sql;
+        Statements statements = current.get();
+        if (statements != null && inspected != null) {
+            statements.shapes.merge(shape(inspected), 1, Integer::sum);
+            statements.total++;
+        }
+        List<String> capture = captured.get();
+        if (capture != null && inspected != null && capture.size() < MAX_CAPTURED) {
+            capture.add(inspected);
+        }
+        return inspected;
+    }
+
+    public void begin() {
+        current.set(new Statements());
+    }
+
+    /** Statements counted so far on this thread, or 0 outside begin/end. */
+    public int count() {
+        Statements statements = current.get();
+        return statements == null ? 0 : statements.total;
+    }
+
+    /** Stops counting and returns how often each statement shape ran. */
+    public Map<String, Integer> end() {
+        Statements statements = current.get();
+        current.remove();
+        return statements == null ? Map.of() : statements.shapes;
+    }
+
+    /** Starts capturing statement text; returns false when a capture is already running. */
+    public boolean startCapture() {
+        if (captured.get() != null) {
+            return false;
+        }
+        captured.set(new ArrayList<>());
+        return true;
+    }
+
+    /** Stops capturing and returns the first statements seen since {@link #startCapture()}. */
+    public List<String> stopCapture() {
+        List<String> capture = captured.get();
+        captured.remove();
+        return capture == null ? List.of() : capture;
+    }
+
+    private static StatementInspector instantiate(Object setting) {
+        if (setting == null || setting instanceof StatementInspector) {
+            return (StatementInspector) setting;
+        }
+        try {
+            Class<?> type = setting instanceof Class<?> c ? c : Class.forName(setting.toString().trim());
+            return (StatementInspector) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create statement inspector " + setting, e);
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static final class Statements {
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+    }
+}
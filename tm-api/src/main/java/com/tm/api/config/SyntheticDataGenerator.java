@@ -0,0 +1,221 @@
+package com.tm.api.config;
+
+import com.tm.api.model.ActivityCode;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import com.tm.api.service.PositionAllocator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates large boards for capacity planning, load tests and benchmarks.
+ * Rows go straight to the tables in JDBC batches, one transaction per batch of
+ * tasks, so no audit or outbox events are produced; each task's history is
+ * written to {@code activities} directly as event codes. Dates are relative to
+ * the start of the current day and ids are UUIDv7 built from the seeded random,
+ * so one seed yields the same rows all day.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, title, position, description, status, "
+            + "priority, due_date, important, reminder_enabled, reminder_time, created_at, updated_at, completed_at, "
+            + "subtask_total, subtask_completed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBTASK = "INSERT INTO subtasks (id, title, completed, created_at, "
+            + "completed_at, task_id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ACTIVITY = "INSERT INTO activities (id, event_code, field_name, old_val, "
+            + "new_val, timestamp, task_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String[] VERBS = { "Revisar", "Implementar", "Testar", "Documentar", "Planejar",
+            "Corrigir", "Refatorar", "Publicar", "Analisar", "Configurar" };
+    private static final String[] SUBJECTS = { "relatório mensal", "API de tarefas", "tela de login",
+            "pipeline de CI", "banco de dados", "testes de integração", "deploy em produção", "métricas do quadro",
+            "fluxo de cadastro", "documentação técnica" };
+    private static final int MAX_SUBTASKS = 20;
+    private static final long HISTORY_SECONDS = Duration.ofDays(365).toSeconds();
+    private static final long MAX_STATUS_DELAY_MINUTES = Duration.ofDays(14).toMinutes();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PositionAllocator positionAllocator;
+
+    public record Result(int tasks, long subtasks, long activities, Duration elapsed) {
+    }
+
+    public Result generate(int taskCount, long seed, int batchSize) {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime anchor = LocalDate.now().atStartOfDay();
+        Map<TaskStatus, Integer> positions = nextPositions();
+
+        long subtasks = 0;
+        long activities = 0;
+        for (int from = 0; from < taskCount; from += batchSize) {
+            Batch batch = new Batch();
+            for (int n = from; n < Math.min(taskCount, from + batchSize); n++) {
+                addTask(batch, random, anchor.minusSeconds(HISTORY_SECONDS), anchor, n, taskCount, positions);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_TASK, batch.tasks);
+                jdbcTemplate.batchUpdate(INSERT_SUBTASK, batch.subtasks);
+                jdbcTemplate.batchUpdate(INSERT_ACTIVITY, batch.activities);
+            });
+            subtasks += batch.subtasks.size();
+            activities += batch.activities.size();
+            if ((from / batchSize) % 100 == 99) {
+                log.info("Generated {} of {} synthetic tasks", from + batchSize, taskCount);
+            }
+        }
+
+        // New tasks must land after the generated ones in every column
+        positions.forEach((status, next) -> positionAllocator.observe(status, next - 1));
+
+        Result result = new Result(taskCount, subtasks, activities,
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Generated {} tasks, {} subtasks and {} activities in {} ms (seed {})", result.tasks(),
+                result.subtasks(), result.activities(), result.elapsed().toMillis(), seed);
+        return result;
+    }
+
+    private void addTask(Batch batch, SplittableRandom random, LocalDateTime start, LocalDateTime anchor, int n,
+            int taskCount, Map<TaskStatus, Integer> positions) {
+        TaskStatus status = pick(random, TaskStatus.TODO, 40, TaskStatus.DOING, 25, TaskStatus.DONE);
+        Priority priority = pick(random, Priority.LOW, 50, Priority.MEDIUM, 35, Priority.HIGH);
+        // Creation times advance with n, so the UUIDv7 keys and task_id indexes are
+        // appended to instead of split at random pages
+        long slot = Math.max(1, HISTORY_SECONDS / taskCount);
+        LocalDateTime createdAt = start.plusSeconds(n * HISTORY_SECONDS / taskCount + random.nextLong(slot));
+        LocalDateTime completedAt = status == TaskStatus.DONE
+                ? earliest(createdAt.plusMinutes(random.nextLong(30L * 24 * 60)), anchor)
+                : null;
+        // About a fifth of the open tasks are overdue
+        LocalDateTime dueDate;
+        if (status == TaskStatus.DONE) {
+            dueDate = completedAt.plusDays(random.nextInt(-5, 10));
+        } else if (random.nextInt(100) < 20) {
+            dueDate = anchor.minusHours(random.nextLong(1, 30L * 24));
+        } else {
+            dueDate = anchor.plusHours(random.nextLong(1, 60L * 24));
+        }
+        boolean reminder = random.nextInt(100) < 20;
+
+        UUID taskId = uuid(random, createdAt);
+        String title = VERBS[random.nextInt(VERBS.length)] + " " + SUBJECTS[random.nextInt(SUBJECTS.length)]
+                + " #" + (n + 1);
+
+        int subtaskCount = subtaskCount(random);
+        int completedPercent = switch (status) {
+            case TODO -> 10;
+            case DOING -> 50;
+            case DONE -> 100;
+        };
+        int completed = 0;
+        for (int s = 0; s < subtaskCount; s++) {
+            boolean done = random.nextInt(100) < completedPercent;
+            LocalDateTime subtaskCreated = createdAt.plusMinutes(s);
+            batch.subtasks.add(new Object[] { uuid(random, subtaskCreated), "Etapa " + (s + 1), done,
+                    subtaskCreated, done ? earliest(subtaskCreated.plusHours(random.nextInt(1, 72)), anchor) : null,
+                    taskId });
+            completed += done ? 1 : 0;
+        }
+
+        LocalDateTime updatedAt = addHistory(batch, random, taskId, status, priority, createdAt, completedAt, anchor);
+
+        int position = positions.merge(status, 1, Integer::sum) - 1;
+        batch.tasks.add(new Object[] { taskId, title, position,
+                random.nextInt(100) < 60 ? "Descrição gerada para " + title.toLowerCase() : null,
+                status.name(), priority.name(), dueDate, random.nextInt(100) < 10, reminder,
+                reminder ? dueDate.minusHours(1) : null, createdAt, updatedAt, completedAt, subtaskCount,
+                completed });
+    }
+
+    /** Creation, an occasional priority change and the status transitions; returns the last change. */
+    private LocalDateTime addHistory(Batch batch, SplittableRandom random, UUID taskId, TaskStatus status,
+            Priority priority, LocalDateTime createdAt, LocalDateTime completedAt, LocalDateTime anchor) {
+        LocalDateTime end = completedAt != null ? completedAt : anchor;
+        long span = Math.min(MAX_STATUS_DELAY_MINUTES, Math.max(1, Duration.between(createdAt, end).toMinutes()));
+        LocalDateTime at = createdAt;
+        activity(batch, random, taskId, at, ActivityCode.CREATED, null, null, null);
+
+        if (random.nextInt(100) < 20 && priority != Priority.LOW) {
+            at = at.plusMinutes(random.nextLong(1, span / 4 + 2));
+            activity(batch, random, taskId, at, ActivityCode.PRIORITY_CHANGED, "prioridade",
+                    Priority.LOW.name(), priority.name());
+        }
+        if (status != TaskStatus.TODO && (status == TaskStatus.DOING || random.nextInt(100) < 80)) {
+            at = at.plusMinutes(random.nextLong(1, span / 2 + 2));
+            activity(batch, random, taskId, at, ActivityCode.STATUS_CHANGED, "status", "TODO", "DOING");
+        }
+        if (status == TaskStatus.DONE) {
+            String from = at.equals(createdAt) ? "TODO" : "DOING";
+            at = completedAt.isAfter(at) ? completedAt : at.plusMinutes(1);
+            activity(batch, random, taskId, at, ActivityCode.STATUS_CHANGED, "status", from, "DONE");
+        }
+        return at;
+    }
+
+    private void activity(Batch batch, SplittableRandom random, UUID taskId, LocalDateTime at, ActivityCode code,
+            String field, String oldValue, String newValue) {
+        batch.activities.add(new Object[] { uuid(random, at), code.name(), field, oldValue, newValue, at, taskId });
+    }
+
+    /** Most tasks have no or a few subtasks; the tail reaches {@value #MAX_SUBTASKS}. */
+    private static int subtaskCount(SplittableRandom random) {
+        if (random.nextInt(100) < 35) {
+            return 0;
+        }
+        return (int) Math.min(MAX_SUBTASKS, 1 + Math.floor(-Math.log(1 - random.nextDouble()) * 4));
+    }
+
+    private Map<TaskStatus, Integer> nextPositions() {
+        Map<TaskStatus, Integer> next = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            next.put(status, 0);
+        }
+        jdbcTemplate.query("SELECT status, MAX(position) FROM tasks GROUP BY status",
+                rs -> {
+                    next.put(TaskStatus.valueOf(rs.getString(1)), rs.getInt(2) + 1);
+                });
+        return next;
+    }
+
+    /** UUIDv7 layout with the row's own timestamp, so ids follow creation order. */
+    private static UUID uuid(SplittableRandom random, LocalDateTime at) {
+        long millis = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long msb = (millis << 16) | 0x7000L | random.nextInt(0x1000);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static <T> T pick(SplittableRandom random, T first, int firstPercent, T second, int secondPercent,
+            T rest) {
+        int roll = random.nextInt(100);
+        return roll < firstPercent ? first : roll < firstPercent + secondPercent ? second : rest;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static final class Batch {
+        private final List<Object[]> tasks = new ArrayList<>();
+        private final List<Object[]> subtasks = new ArrayList<>();
+        private final List<Object[]> activities = new ArrayList<>();
+    }
+}
@@ -1,5 +1,6 @@
 package com.tm.api.config;
 
+import com.tm.api.model.TaskStatus;
 import com.tm.api.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.actuate.health.Health;
@@ -22,10 +23,9 @@ public class TaskHealthIndicator implements HealthIndicator {
         if (totalTasks == 0)
             return Health.up().withDetail("tasks", 0).build();
 
-        long overdueTasks = taskRepository.findAll().stream()
-                .filter(t -> t.getDueDate() != null && t.getDueDate().isBefore(LocalDateTime.now())
-                        && !"DONE".equals(t.getStatus().name()))
-                .count();
+        LocalDateTime now = LocalDateTime.now();
+        long overdueTasks = taskRepository.countDueBefore(TaskStatus.TODO, now)
+                + taskRepository.countDueBefore(TaskStatus.DOING, now);
 
         double overdueRatio = (double) overdueTasks / totalTasks;
 
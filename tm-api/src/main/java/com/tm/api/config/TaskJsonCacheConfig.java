@@ -0,0 +1,105 @@
+package com.tm.api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.service.TaskJsonCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Registers a Jackson module that writes each {@link TaskDTO} from
+ * {@link TaskJsonCache}: page and list wrappers are still serialized normally,
+ * but every task inside them is a cached raw JSON fragment unless it changed.
+ * Binary formats and pretty-printed output bypass the cache.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tm.json-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskJsonCacheConfig {
+
+    @Bean
+    public Module taskJsonCacheModule(TaskJsonCache cache) {
+        SimpleModule module = new SimpleModule("TaskJsonCache");
+        module.setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+                    JsonSerializer<?> serializer) {
+                if (beanDesc.getBeanClass() == TaskDTO.class) {
+                    return new CachedTaskSerializer((JsonSerializer<TaskDTO>) serializer, cache);
+                }
+                return serializer;
+            }
+        });
+        return module;
+    }
+
+    static final class CachedTaskSerializer extends StdSerializer<TaskDTO>
+            implements ContextualSerializer, ResolvableSerializer {
+
+        private final JsonSerializer<TaskDTO> delegate;
+        private final TaskJsonCache cache;
+
+        CachedTaskSerializer(JsonSerializer<TaskDTO> delegate, TaskJsonCache cache) {
+            super(TaskDTO.class);
+            this.delegate = delegate;
+            this.cache = cache;
+        }
+
+        @Override
+        public void serialize(TaskDTO task, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            ObjectCodec codec = gen.getCodec();
+            if (!(gen instanceof JsonGeneratorImpl) || gen.getPrettyPrinter() != null || codec == null
+                    || task.getId() == null) {
+                delegate.serialize(task, gen, provider);
+                return;
+            }
+
+            String json = cache.lookup(task);
+            if (json == null) {
+                StringWriter out = new StringWriter();
+                try (JsonGenerator fragment = codec.getFactory().createGenerator(out)) {
+                    delegate.serialize(task, fragment, provider);
+                }
+                json = out.toString();
+                cache.store(task, json);
+            }
+            gen.writeRawValue(json);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                return new CachedTaskSerializer(
+                        (JsonSerializer<TaskDTO>) contextual.createContextual(provider, property), cache);
+            }
+            return this;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package com.tm.api.controller;
 
+import com.tm.api.dto.CalendarDayDTO;
+import com.tm.api.dto.CalendarEntryDTO;
+import com.tm.api.dto.HistoryPageDTO;
+import com.tm.api.dto.PurgeJobDTO;
 import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.TaskEventStream;
+import com.tm.api.mapper.ActivityMessages;
 import com.tm.api.model.TaskStatus;
+import com.tm.api.service.PurgeService;
+import com.tm.api.service.ReadCoalescer;
 import com.tm.api.service.TaskService;
+import com.tm.api.service.TaskUpdateCoalescer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +21,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Slf4j
@@ -26,16 +39,54 @@ import java.util.UUID;
 public class TaskController {
 
     private final TaskService taskService;
-
-    @Operation(summary = "List all tasks (Paginated)", description = "Terminal endpoint to retrieve task entities. Supports server-side status filtering and JPA-based pagination. "
+    private final TaskEventStream taskEventStream;
+    private final ReadCoalescer readCoalescer;
+    private final TaskUpdateCoalescer taskUpdateCoalescer;
+    private final PurgeService purgeService;
+
+    @Operation(summary = "List all tasks (Paginated)", description = "Terminal endpoint to retrieve task entities. Supports server-side status filtering, indexed due-date windows "
+            + "(overdue, dueAfter/dueBefore, dueWithinHours) and JPA-based pagination. "
+            + "Windows with an upper bound also list upcoming occurrences of recurring tasks as virtual entries (occurrenceOf set, no id). "
             +
             "Calculated fields like 'overdue' and 'progress' are hydrated during entity induction.")
     @GetMapping
     public Page<TaskDTO> getAllTasks(
             @Parameter(description = "Filter by status (TODO, DOING, DONE)") @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Only open tasks whose due date has passed") @RequestParam(required = false) Boolean overdue,
+            @Parameter(description = "Due on or after this instant (ISO-8601)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueAfter,
+            @Parameter(description = "Due strictly before this instant (ISO-8601)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueBefore,
+            @Parameter(description = "Only open tasks due within the next N hours") @RequestParam(required = false) Integer dueWithinHours,
             @Parameter(description = "Pagination parameters (page, size, sort)") Pageable pageable) {
-        log.info("Request to get paginated tasks with status: {}", status);
-        return taskService.findAll(status, pageable);
+        log.debug("Request to get paginated tasks with status: {}", status);
+        boolean isOverdue = Boolean.TRUE.equals(overdue);
+        ListQuery query = new ListQuery(status, isOverdue, dueAfter, dueBefore, dueWithinHours, pageable,
+                ActivityMessages.currentLocale().getLanguage());
+        if (isOverdue || dueAfter != null || dueBefore != null || dueWithinHours != null) {
+            return readCoalescer.execute(query, () -> taskService.findByDueWindow(status, isOverdue, dueAfter,
+                    dueBefore, dueWithinHours, pageable));
+        }
+        return readCoalescer.execute(query, () -> taskService.findAll(status, pageable));
+    }
+
+    @Operation(summary = "Task calendar", description = "Per-day task counts by status and priority for the days from 'from' to 'to' "
+            + "(inclusive, at most 366 days), computed by the database from the due-date index. "
+            + "Upcoming occurrences of recurring tasks count as TODO. Days without tasks are omitted.")
+    @GetMapping("/calendar")
+    public java.util.List<CalendarDayDTO> getCalendar(
+            @Parameter(description = "First day (ISO-8601 date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive (ISO-8601 date)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.debug("Request to get task calendar from {} to {}", from, to);
+        return readCoalescer.execute(new CalendarQuery(from, to), () -> taskService.getCalendar(from, to));
+    }
+
+    @Operation(summary = "Tasks due on a calendar day", description = "Slim listing of the tasks due on one day, earliest first, "
+            + "including virtual occurrences of recurring tasks (occurrenceOf set, no id).")
+    @GetMapping("/calendar/{date}")
+    public java.util.List<CalendarEntryDTO> getCalendarDay(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Maximum entries (1-500)") @RequestParam(defaultValue = "200") int limit) {
+        log.debug("Request to get tasks due on {}", date);
+        return taskService.getCalendarDay(date, Math.max(1, Math.min(limit, 500)));
     }
 
     @Operation(summary = "Get task by ID")
@@ -43,15 +94,16 @@ public class TaskController {
     @ApiResponse(responseCode = "404", description = "Task not found")
     @GetMapping("/{id}")
     public ResponseEntity<TaskDTO> getById(@PathVariable UUID id) {
-        log.info("Request to get task id: {}", id);
-        return ResponseEntity.ok(taskService.findById(id));
+        log.debug("Request to get task id: {}", id);
+        TaskQuery query = new TaskQuery(id, ActivityMessages.currentLocale().getLanguage());
+        return ResponseEntity.ok(readCoalescer.execute(query, () -> taskService.findById(id)));
     }
 
     @Operation(summary = "Create a new task")
     @ApiResponse(responseCode = "201", description = "Task created successfully")
     @PostMapping
     public ResponseEntity<TaskDTO> create(@Valid @RequestBody TaskDTO dto) {
-        log.info("Request to create task: {}", dto.getTitle());
+        log.debug("Request to create task: {}", dto.getTitle());
         return ResponseEntity.status(HttpStatus.CREATED).body(taskService.create(dto));
     }
 
@@ -61,68 +113,88 @@ public class TaskController {
     @ApiResponse(responseCode = "200", description = "Task updated successfully and audit logs generated")
     @PutMapping("/{id}")
     public ResponseEntity<TaskDTO> update(@PathVariable UUID id, @Valid @RequestBody TaskDTO dto) {
-        log.info("Request to update task id: {}", id);
-        return ResponseEntity.ok(taskService.update(id, dto));
+        log.debug("Request to update task id: {}", id);
+        return ResponseEntity.ok(taskUpdateCoalescer.update(id, dto));
     }
 
-    @Operation(summary = "Delete a task (Logical Deletion)", description = "Applies a logical 'deleted' flag using Hibernate @SQLDelete. "
-            +
-            "The entity remains in the database for recovery or audit review.")
-    @ApiResponse(responseCode = "204", description = "Task logically archived")
+    @Operation(summary = "Delete a task (Move to Trash)", description = "Moves the task, its subtasks and activity log to the archive tables. "
+            + "It is listed in the history until restored or purged.")
+    @ApiResponse(responseCode = "204", description = "Task moved to the archive")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable UUID id) {
-        log.info("Request to delete task: {}", id);
+        log.debug("Request to delete task: {}", id);
         taskService.delete(id);
         return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Restore a task", description = "Brings back a previously soft-deleted task")
     @ApiResponse(responseCode = "200", description = "Task restored")
+    @ApiResponse(responseCode = "409", description = "Task is queued for permanent deletion")
     @PostMapping("/{id}/restore")
     public TaskDTO restoreTask(@PathVariable UUID id) {
-        log.info("Request to restore task: {}", id);
+        log.debug("Request to restore task: {}", id);
         return taskService.restore(id);
     }
 
-    @Operation(summary = "Get deleted tasks history", description = "Returns all soft-deleted tasks")
+    @Operation(summary = "Stream task events", description = "Server-Sent Events for task changes and reminders, delivered from the outbox. Event ids may repeat after a redelivery.")
+    @GetMapping(value = "/stream", produces = org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        log.debug("New task event stream subscriber");
+        return taskEventStream.subscribe();
+    }
+
+    @Operation(summary = "Get deleted tasks history", description = "Returns one page of soft-deleted tasks, most recently deleted first. "
+            + "Follow nextCursor for the next page.")
     @GetMapping("/history")
-    public java.util.List<TaskDTO> getHistory() {
-        log.info("Request to get task history");
-        return taskService.getHistory();
+    public HistoryPageDTO getHistory(
+            @Parameter(description = "nextCursor of the previous page; omit for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-200)") @RequestParam(defaultValue = "50") int limit) {
+        log.debug("Request to get task history");
+        return taskService.getHistory(cursor, Math.max(1, Math.min(limit, 200)));
     }
 
-    @Operation(summary = "Clear all history", description = "Permanently removes all soft-deleted tasks.")
-    @ApiResponse(responseCode = "204", description = "History cleared")
+    @Operation(summary = "Clear all history", description = "Queues a background purge of all soft-deleted tasks. The tasks disappear from the history immediately; track removal through the returned job.")
+    @ApiResponse(responseCode = "202", description = "Purge queued")
     @DeleteMapping("/history")
-    public ResponseEntity<Void> clearHistory() {
-        log.info("Request to clear all task history");
-        taskService.clearHistory();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<PurgeJobDTO> clearHistory() {
+        log.debug("Request to clear all task history");
+        return accepted(purgeService.purgeHistory());
     }
 
-    @Operation(summary = "Restore all history", description = "Restores all soft-deleted tasks to DONE.")
+    @Operation(summary = "Restore all history", description = "Restores all soft-deleted tasks to DONE, except those queued for permanent deletion.")
     @ApiResponse(responseCode = "204", description = "All history restored")
     @PostMapping("/history/restore")
     public ResponseEntity<Void> restoreAllHistory() {
-        log.info("Request to restore all task history");
+        log.debug("Request to restore all task history");
         taskService.restoreAllHistory();
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Permanently delete a task", description = "Removes the task from the database entirely. Cannot be undone.")
-    @ApiResponse(responseCode = "204", description = "Task permanently deleted")
+    @Operation(summary = "Permanently delete a task", description = "Queues removal of the task from the database entirely. Cannot be undone.")
+    @ApiResponse(responseCode = "202", description = "Purge queued")
     @DeleteMapping("/{id}/hard")
-    public ResponseEntity<Void> hardDelete(@PathVariable UUID id) {
-        log.info("Request to hard delete task: {}", id);
-        taskService.hardDelete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<PurgeJobDTO> hardDelete(@PathVariable UUID id) {
+        log.debug("Request to hard delete task: {}", id);
+        return accepted(purgeService.purgeTask(id));
+    }
+
+    @Operation(summary = "Get purge progress", description = "Returns the progress of a history purge or hard delete")
+    @GetMapping("/purge-jobs/{jobId}")
+    public PurgeJobDTO getPurgeJob(@PathVariable UUID jobId) {
+        return purgeService.findJob(jobId);
+    }
+
+    @Operation(summary = "List recent purge jobs")
+    @GetMapping("/purge-jobs")
+    public java.util.List<PurgeJobDTO> getPurgeJobs(@RequestParam(defaultValue = "20") int limit) {
+        return purgeService.recentJobs(Math.min(limit, 100));
     }
 
     @Operation(summary = "Reorder tasks bulkadamente", description = "Updates positions of multiple tasks at once. Useful for drag-and-drop persistence.")
     @ApiResponse(responseCode = "204", description = "Tasks reordered successfully")
     @PostMapping("/reorder")
     public ResponseEntity<Void> reorder(@RequestBody java.util.List<java.util.Map<String, Object>> taskPositions) {
-        log.info("Request to bulk reorder tasks");
+        log.debug("Request to bulk reorder tasks");
         taskService.updatePositions(taskPositions);
         return ResponseEntity.noContent().build();
     }
@@ -140,4 +212,21 @@ public class TaskController {
                 com.tm.api.model.TaskStatus.valueOf(status));
         return ResponseEntity.noContent().build();
     }
+
+    private ResponseEntity<PurgeJobDTO> accepted(PurgeJobDTO job) {
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/tasks/purge-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /** Read keys for {@link ReadCoalescer}: the normalized parameters plus the language messages render in. */
+    private record ListQuery(TaskStatus status, boolean overdue, LocalDateTime dueAfter, LocalDateTime dueBefore,
+            Integer dueWithinHours, Pageable pageable, String language) {
+    }
+
+    private record TaskQuery(UUID id, String language) {
+    }
+
+    private record CalendarQuery(LocalDate from, LocalDate to) {
+    }
 }
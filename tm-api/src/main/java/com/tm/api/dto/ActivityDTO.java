@@ -1,5 +1,6 @@
 package com.tm.api.dto;
 
+import com.tm.api.model.ActivityCode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,6 +19,10 @@ public class ActivityDTO {
     @Schema(description = "Unique identifier (UUID)", accessMode = Schema.AccessMode.READ_ONLY)
     private UUID id;
 
+    @Schema(description = "Kind of change; message is rendered from it in the request language",
+            example = "STATUS_CHANGED")
+    private ActivityCode eventCode;
+
     @Schema(description = "Human-readable change description", example = "Status alterado de TODO para DONE")
     private String message;
 
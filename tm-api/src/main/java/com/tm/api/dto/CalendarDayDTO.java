@@ -0,0 +1,28 @@
+package com.tm.api.dto;
+
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Tasks due on one calendar day, counted by status and priority")
+public class CalendarDayDTO {
+    @Schema(description = "Day of the due date", example = "2026-03-14")
+    private LocalDate date;
+
+    @Schema(description = "Tasks due that day, including upcoming occurrences of recurring tasks")
+    private long total;
+
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+}
@@ -0,0 +1,42 @@
+package com.tm.api.dto;
+
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One task in a calendar day. Read as a JPQL projection, so no description,
+ * subtask or activity rows are loaded for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Task as listed in a calendar day")
+public class CalendarEntryDTO {
+    @Schema(description = "Unique identifier (UUID); empty for a virtual occurrence", accessMode = Schema.AccessMode.READ_ONLY)
+    private UUID id;
+
+    private String title;
+    private TaskStatus status;
+    private Priority priority;
+    private LocalDateTime dueDate;
+    private Boolean important;
+    private int subtaskTotal;
+    private int subtaskCompleted;
+
+    @Schema(description = "Virtual occurrences only: id of the recurring task that generates them", accessMode = Schema.AccessMode.READ_ONLY)
+    private UUID occurrenceOf;
+
+    public CalendarEntryDTO(UUID id, String title, TaskStatus status, Priority priority, LocalDateTime dueDate,
+            Boolean important, int subtaskTotal, int subtaskCompleted) {
+        this(id, title, status, priority, dueDate, important, subtaskTotal, subtaskCompleted, null);
+    }
+}
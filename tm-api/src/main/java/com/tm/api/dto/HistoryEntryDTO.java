@@ -0,0 +1,39 @@
+package com.tm.api.dto;
+
+import com.tm.api.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One trashed task in the history listing. Read as a JPQL projection, so no
+ * subtask or activity rows are loaded for it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Trashed task as listed in the history")
+public class HistoryEntryDTO {
+    @Schema(description = "Unique identifier (UUID)", accessMode = Schema.AccessMode.READ_ONLY)
+    private UUID id;
+
+    private String title;
+
+    @Schema(description = "Status the task had when it was trashed", example = "DONE")
+    private TaskStatus status;
+
+    private LocalDateTime completedAt;
+
+    @Schema(description = "When the task was moved to the trash")
+    private LocalDateTime deletedAt;
+
+    private int subtaskTotal;
+    private int subtaskCompleted;
+    private long activityCount;
+}
@@ -0,0 +1,21 @@
+package com.tm.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "A page of the trash, most recently deleted first")
+public class HistoryPageDTO {
+    private List<HistoryEntryDTO> items;
+
+    @Schema(description = "Pass as cursor to get the next page; empty on the last page")
+    private String nextCursor;
+}
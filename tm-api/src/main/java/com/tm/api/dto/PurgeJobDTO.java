@@ -0,0 +1,44 @@
+package com.tm.api.dto;
+
+import com.tm.api.model.PurgeJobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Progress of a background purge of trashed tasks")
+public class PurgeJobDTO {
+    @Schema(description = "Unique identifier (UUID)", accessMode = Schema.AccessMode.READ_ONLY)
+    private UUID id;
+
+    @Schema(description = "Task being purged; empty when the whole history is purged")
+    private UUID taskId;
+
+    @Schema(description = "Current job state", example = "RUNNING")
+    private PurgeJobStatus status;
+
+    @Schema(description = "Trashed tasks covered when the job was queued")
+    private int totalTasks;
+
+    private int purgedTasks;
+    private int purgedSubtasks;
+    private int purgedActivities;
+
+    @Schema(description = "Completion estimate (0-100)", example = "42")
+    private int percent;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Last error seen while purging, if any")
+    private String lastError;
+}
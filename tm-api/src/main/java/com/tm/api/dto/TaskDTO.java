@@ -1,5 +1,6 @@
 package com.tm.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.tm.api.model.Priority;
 import com.tm.api.model.TaskStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -53,6 +54,14 @@ public class TaskDTO {
     @Schema(description = "Timestamp for the task reminder")
     private LocalDateTime reminderTime;
 
+    @Schema(description = "Repeat rule: DAILY, WEEKLY, DAILY/3, WEEKLY/2 or CRON <six-field cron>. Completing the task "
+            + "creates the next occurrence; send an empty string to stop repeating", example = "WEEKLY")
+    private String recurrenceRule;
+
+    @Schema(description = "Set on virtual occurrences listed in due windows: id of the task whose rule produced "
+            + "them (their own id is empty until they are created)", accessMode = Schema.AccessMode.READ_ONLY)
+    private UUID occurrenceOf;
+
     @Schema(description = "Auto-generated creation timestamp", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime createdAt;
 
@@ -71,11 +80,19 @@ public class TaskDTO {
     @Schema(description = "Calculated progress (0-100)", accessMode = Schema.AccessMode.READ_ONLY)
     private double progress;
 
+    @Schema(description = "Total number of subtasks", accessMode = Schema.AccessMode.READ_ONLY)
+    private int subtaskTotal;
+
+    @Schema(description = "Number of completed subtasks", accessMode = Schema.AccessMode.READ_ONLY)
+    private int subtaskCompleted;
+
     @Schema(description = "List of subtasks (Checklist)")
     @Builder.Default
     private java.util.List<SubtaskDTO> subtasks = new java.util.ArrayList<>();
 
-    @Schema(description = "Activity history (Audit Log)", accessMode = Schema.AccessMode.READ_ONLY)
+    @Schema(description = "Activity history (Audit Log); only on single-task responses, omitted from lists",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     @Builder.Default
     private java.util.List<ActivityDTO> activities = new java.util.ArrayList<>();
 }
@@ -0,0 +1,97 @@
+package com.tm.api.event;
+
+import com.tm.api.model.Activity;
+import com.tm.api.model.ActivityCode;
+import com.tm.api.model.ArchivedActivity;
+import com.tm.api.model.OutboxEvent;
+import com.tm.api.repository.ActivityRepository;
+import com.tm.api.repository.ArchivedActivityRepository;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.TaskRepository;
+import com.tm.api.service.TaskJsonCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Projects outbox events into the task's Activity timeline. Idempotent: an
+ * event that already produced activities is skipped on redelivery.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class ActivityProjector implements OutboxConsumer {
+
+    private final ActivityRepository activityRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedActivityRepository archivedActivityRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskJsonCache taskJsonCache;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(OutboxEvent event, Map<String, Object> payload) {
+        if (activityRepository.existsByEventId(event.getId())
+                || archivedActivityRepository.existsByEventId(event.getId())) {
+            log.debug("Activities for outbox event {} already projected", event.getId());
+            return;
+        }
+        if (!taskRepository.existsById(event.getTaskId())
+                && !archivedTaskRepository.existsById(event.getTaskId())) {
+            log.debug("Task {} no longer exists, skipping activity projection", event.getTaskId());
+            return;
+        }
+
+        switch (event.getEventType()) {
+            case REMINDER_TRIGGERED -> save(event, Activity.builder().eventCode(ActivityCode.REMINDER_TRIGGERED));
+            case TASK_AUDIT -> projectAudit(event,
+                    (Map<String, Object>) payload.getOrDefault("oldValues", Map.of()),
+                    (Map<String, Object>) payload.getOrDefault("newValues", Map.of()));
+        }
+    }
+
+    private void projectAudit(OutboxEvent event, Map<String, Object> oldValues, Map<String, Object> newValues) {
+        // A creation event (no old values) is a single "task created" entry
+        if (oldValues.isEmpty()) {
+            save(event, Activity.builder().eventCode(ActivityCode.CREATED));
+            return;
+        }
+
+        // Only the code and raw values are stored; the text is rendered on read
+        newValues.forEach((field, newValue) -> {
+            Object oldValue = oldValues.get(field);
+            save(event, Activity.builder()
+                    .eventCode(ActivityCode.forChange(field, newValue))
+                    .fieldName(field)
+                    .oldVal(oldValue != null ? oldValue.toString() : null)
+                    .newVal(newValue != null ? newValue.toString() : null));
+        });
+    }
+
+    private void save(OutboxEvent event, Activity.ActivityBuilder builder) {
+        // Stamped with the event's time so retried events keep their place in the timeline
+        LocalDateTime timestamp = event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now();
+        Activity activity = builder.eventId(event.getId()).timestamp(timestamp).build();
+        taskJsonCache.evict(event.getTaskId());
+        if (taskRepository.existsById(event.getTaskId())) {
+            activity.setTask(taskRepository.getReferenceById(event.getTaskId()));
+            activityRepository.save(activity);
+            return;
+        }
+        // Events such as the trash move itself are projected after the task was archived
+        archivedActivityRepository.save(ArchivedActivity.builder()
+                .eventCode(activity.getEventCode())
+                .fieldName(activity.getFieldName())
+                .oldVal(activity.getOldVal())
+                .newVal(activity.getNewVal())
+                .eventId(activity.getEventId())
+                .timestamp(activity.getTimestamp())
+                .task(archivedTaskRepository.getReferenceById(event.getTaskId()))
+                .build());
+    }
+}
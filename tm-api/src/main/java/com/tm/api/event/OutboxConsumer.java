@@ -0,0 +1,24 @@
+package com.tm.api.event;
+
+import com.tm.api.model.OutboxEvent;
+
+import java.util.Map;
+
+/**
+ * Receives outbox events from {@link OutboxRelay}. Delivery is at-least-once,
+ * so implementations must tolerate seeing the same event id more than once.
+ */
+public interface OutboxConsumer {
+
+    void accept(OutboxEvent event, Map<String, Object> payload);
+
+    /**
+     * Whether {@link #accept} runs in the transaction that marks the event
+     * processed. Consumers that only notify clients, and may block on them,
+     * return false: they run after the commit, holding no connection, and a
+     * failure there does not cause a redelivery.
+     */
+    default boolean transactional() {
+        return true;
+    }
+}
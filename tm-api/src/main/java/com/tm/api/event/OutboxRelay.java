@@ -0,0 +1,161 @@
+package com.tm.api.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.model.OutboxEvent;
+import com.tm.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the outbox in id (creation) order and hands each event to every
+ * {@link OutboxConsumer}. An event is marked processed only after all
+ * transactional consumers succeeded in one transaction, so a crash in between
+ * causes a redelivery, never a loss. Notifying consumers run after that commit.
+ * Events that keep failing are parked after {@code max-attempts}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {
+    };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxConsumer> consumers;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+
+    private final Counter relayed;
+    private final Counter failures;
+    private final Timer deliveryLatency;
+    private final ReentrantLock relayLock = new ReentrantLock();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            List<OutboxConsumer> consumers,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${tm.outbox.batch-size:100}") int batchSize,
+            @Value("${tm.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${tm.outbox.retention:P7D}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = consumers;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retention = retention;
+
+        this.relayed = meterRegistry.counter("outbox.relayed");
+        this.failures = meterRegistry.counter("outbox.failures");
+        this.deliveryLatency = Timer.builder("outbox.delivery.latency")
+                .description("Time from outbox append to successful relay")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", this, OutboxRelay::oldestPendingAgeSeconds)
+                .description("Age of the oldest undelivered outbox event")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead_lettered", this,
+                relay -> relay.outboxEventRepository.countDeadLettered(relay.maxAttempts))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tm.outbox.poll-interval:PT0.5S}")
+    public int relayPending() {
+        relayLock.lock();
+        try {
+            int delivered = 0;
+            int deliveredInBatch;
+            List<OutboxEvent> batch;
+            do {
+                deliveredInBatch = 0;
+                batch = outboxEventRepository.findPending(maxAttempts, PageRequest.of(0, batchSize));
+                for (OutboxEvent event : batch) {
+                    if (deliver(event)) {
+                        deliveredInBatch++;
+                    }
+                }
+                delivered += deliveredInBatch;
+            } while (batch.size() == batchSize && deliveredInBatch > 0);
+            return delivered;
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tm.outbox.cleanup-interval:PT1H}")
+    public int purgeProcessed() {
+        int removed = outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.debug("Removed {} processed outbox events older than {}", removed, retention);
+        }
+        return removed;
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            Map<String, Object> payload = event.getPayload() == null ? Map.of()
+                    : objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE);
+            transactionTemplate.executeWithoutResult(status -> {
+                consumers.stream()
+                        .filter(OutboxConsumer::transactional)
+                        .forEach(consumer -> consumer.accept(event, payload));
+                outboxEventRepository.markProcessed(event.getId(), LocalDateTime.now());
+            });
+            notifyCommitted(event, payload);
+            relayed.increment();
+            if (event.getCreatedAt() != null) {
+                deliveryLatency.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            }
+            return true;
+        } catch (Exception e) {
+            failures.increment();
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            outboxEventRepository.recordFailure(event.getId(), error.length() > 500 ? error.substring(0, 500) : error);
+            if (event.getAttempts() + 1 >= maxAttempts) {
+                log.error("Outbox event {} ({}) parked after {} attempts", event.getId(), event.getEventType(),
+                        maxAttempts, e);
+            } else {
+                log.warn("Delivery of outbox event {} failed, will retry: {}", event.getId(), error);
+            }
+            return false;
+        }
+    }
+
+    private void notifyCommitted(OutboxEvent event, Map<String, Object> payload) {
+        for (OutboxConsumer consumer : consumers) {
+            if (consumer.transactional()) {
+                continue;
+            }
+            try {
+                consumer.accept(event, payload);
+            } catch (RuntimeException e) {
+                log.warn("Notifying {} of outbox event {} failed: {}", consumer.getClass().getSimpleName(),
+                        event.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private double oldestPendingAgeSeconds() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt(maxAttempts);
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
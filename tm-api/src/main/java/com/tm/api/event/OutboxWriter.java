@@ -0,0 +1,39 @@
+package com.tm.api.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.model.OutboxEvent;
+import com.tm.api.model.OutboxEventType;
+import com.tm.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Appends events to the outbox. Requires the caller's transaction so the
+ * event commits or rolls back together with the task change.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent append(UUID taskId, OutboxEventType type, Map<String, Object> payload) {
+        try {
+            return outboxEventRepository.save(OutboxEvent.builder()
+                    .taskId(taskId)
+                    .eventType(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload for task " + taskId, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.tm.api.event;
+
+import com.tm.api.model.ReminderDelivery;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** What a {@link ReminderSink} sends for one reminder. */
+public record ReminderNotification(UUID taskId, String title, LocalDateTime reminderTime) {
+
+    public static ReminderNotification of(ReminderDelivery delivery) {
+        return new ReminderNotification(delivery.getTaskId(), delivery.getTitle(), delivery.getReminderTime());
+    }
+}
@@ -0,0 +1,20 @@
+package com.tm.api.event;
+
+import java.util.List;
+
+/**
+ * A channel reminders are delivered through. Every registered sink gets its
+ * own persisted delivery state per reminder and receives due reminders in
+ * batches from {@code ReminderDispatcher}.
+ */
+public interface ReminderSink {
+
+    /** Stored with each delivery, so it must stay stable across releases. */
+    String name();
+
+    /**
+     * Delivers the whole batch or throws; a failed batch is retried with
+     * backoff. Delivery is at-least-once, so receivers may see a reminder twice.
+     */
+    void deliver(List<ReminderNotification> batch) throws Exception;
+}
@@ -0,0 +1,39 @@
+package com.tm.api.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * Sends each batch as one "reminders" event on the task stream. The stream is
+ * live only: with no board open the batch is skipped and counts as delivered,
+ * since there is nobody to show it to and retrying would only park it as
+ * FAILED. A batch fails only when open boards exist and every send to them fails.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SseReminderSink implements ReminderSink {
+
+    private final TaskEventStream taskEventStream;
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public void deliver(List<ReminderNotification> batch) {
+        if (taskEventStream.subscriberCount() == 0) {
+            log.debug("No task stream subscriber, skipping {} reminder(s)", batch.size());
+            return;
+        }
+        int reached = taskEventStream.publish(SseEmitter.event().name("reminders").data(batch));
+        if (reached == 0) {
+            throw new IllegalStateException("Sending the reminders failed for every task stream subscriber");
+        }
+    }
+}
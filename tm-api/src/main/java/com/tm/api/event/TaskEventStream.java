@@ -0,0 +1,79 @@
+package com.tm.api.event;
+
+import com.tm.api.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Server-Sent Events fan-out of outbox events. The SSE id is the outbox event
+ * id, so clients can drop the duplicates that at-least-once delivery allows.
+ */
+@Slf4j
+@Component
+@Order(10)
+public class TaskEventStream implements OutboxConsumer {
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        return emitter;
+    }
+
+    @Override
+    public void accept(OutboxEvent event, Map<String, Object> payload) {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("taskId", event.getTaskId());
+        data.put("type", event.getEventType());
+        data.put("createdAt", event.getCreatedAt());
+        data.put("payload", payload);
+
+        publish(SseEmitter.event()
+                .id(event.getId().toString())
+                .name(event.getEventType().name().toLowerCase())
+                .data(data));
+    }
+
+    /** Fan-out blocks on slow clients, so it runs after the relay's commit. */
+    @Override
+    public boolean transactional() {
+        return false;
+    }
+
+    /** Sends to every subscriber and returns how many received it. */
+    public int publish(SseEmitter.SseEventBuilder message) {
+        // build() appends the terminating line on every call, so build once for all subscribers
+        Set<ResponseBodyEmitter.DataWithMediaType> payload = message.build();
+        int reached = 0;
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(payload);
+                reached++;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping disconnected SSE subscriber: {}", e.getMessage());
+                emitters.remove(emitter);
+            }
+        }
+        return reached;
+    }
+
+    public int subscriberCount() {
+        return emitters.size();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tm.api.event;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each batch as {@code {"reminders": [...]}} to {@code tm.reminders.webhook.url}.
+ * Any non-2xx answer or timeout fails the batch. Only registered when the URL is set.
+ */
+@Component
+@ConditionalOnProperty(name = "tm.reminders.webhook.url")
+public class WebhookReminderSink implements ReminderSink {
+
+    private final RestClient restClient;
+    private final String url;
+
+    public WebhookReminderSink(RestClient.Builder restClientBuilder,
+            @Value("${tm.reminders.webhook.url}") String url,
+            @Value("${tm.reminders.webhook.timeout:PT5S}") Duration timeout) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(timeout).build());
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<ReminderNotification> batch) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("reminders", batch))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
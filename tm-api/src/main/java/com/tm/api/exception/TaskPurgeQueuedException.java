@@ -0,0 +1,11 @@
+package com.tm.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskPurgeQueuedException extends RuntimeException {
+    public TaskPurgeQueuedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,142 @@
+package com.tm.api.mapper;
+
+import com.tm.api.model.ActivityCode;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders activity timeline text from the stored code and values, in the
+ * request's language. Templates come from {@code i18n/activity*.properties} and
+ * are compiled once per language into literal/argument parts, so rendering is
+ * a single StringBuilder pass without format-string parsing.
+ */
+@Component
+public class ActivityMessages {
+
+    /** Language of the base bundle, used when the request does not ask for another. */
+    public static final Locale DEFAULT_LOCALE = Locale.forLanguageTag("pt-BR");
+
+    private static final String BUNDLE = "i18n/activity";
+    private static final int MAX_DESCRIPTION = 80;
+
+    private final Map<String, Templates> byLanguage = new ConcurrentHashMap<>();
+
+    /** Locale of the current request, or {@link #DEFAULT_LOCALE} outside one. */
+    public static Locale currentLocale() {
+        LocaleContext context = LocaleContextHolder.getLocaleContext();
+        Locale locale = context != null ? context.getLocale() : null;
+        return locale != null ? locale : DEFAULT_LOCALE;
+    }
+
+    /**
+     * Text for one activity. Rows written before event codes existed have no code
+     * and keep their stored message.
+     */
+    public String render(ActivityCode code, String message, String field, String oldVal, String newVal) {
+        if (code == null) {
+            return message;
+        }
+        Templates templates = byLanguage.computeIfAbsent(currentLocale().getLanguage(), Templates::load);
+        String[] args = {
+                templates.value(code, oldVal),
+                templates.value(code, newVal),
+                field == null ? "" : field
+        };
+        return templates.get(code).render(args);
+    }
+
+    private static final class Templates {
+
+        private final Map<ActivityCode, Template> templates = new EnumMap<>(ActivityCode.class);
+        private final DateTimeFormatter dateFormat;
+        private final String empty;
+
+        private Templates(ResourceBundle bundle) {
+            for (ActivityCode code : ActivityCode.values()) {
+                templates.put(code, Template.compile(bundle.getString(code.name())));
+            }
+            this.dateFormat = DateTimeFormatter.ofPattern(bundle.getString("format.date"));
+            this.empty = bundle.getString("value.empty");
+        }
+
+        static Templates load(String language) {
+            // No fallback to the JVM locale: unknown languages get the base (Portuguese) bundle
+            return new Templates(ResourceBundle.getBundle(BUNDLE, Locale.forLanguageTag(language),
+                    ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES)));
+        }
+
+        Template get(ActivityCode code) {
+            return templates.get(code);
+        }
+
+        String value(ActivityCode code, String raw) {
+            if (raw == null) {
+                return empty;
+            }
+            return switch (code) {
+                case DUE_DATE_CHANGED -> formatDate(raw);
+                case DESCRIPTION_CHANGED -> shorten(raw);
+                default -> raw;
+            };
+        }
+
+        private String formatDate(String raw) {
+            try {
+                return LocalDateTime.parse(raw).format(dateFormat);
+            } catch (DateTimeParseException e) {
+                return raw;
+            }
+        }
+
+        private static String shorten(String value) {
+            String clean = value.trim();
+            return clean.length() <= MAX_DESCRIPTION ? clean : clean.substring(0, MAX_DESCRIPTION - 3) + "...";
+        }
+    }
+
+    /** A template split into literal text and {n} argument references. */
+    private record Template(String[] literals, int[] arguments) {
+
+        static Template compile(String pattern) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> arguments = new ArrayList<>();
+            int start = 0;
+            int open;
+            while ((open = pattern.indexOf('{', start)) >= 0) {
+                int close = pattern.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+                literals.add(pattern.substring(start, open));
+                arguments.add(Integer.parseInt(pattern.substring(open + 1, close)));
+                start = close + 1;
+            }
+            literals.add(pattern.substring(start));
+            return new Template(literals.toArray(String[]::new),
+                    arguments.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String render(String[] args) {
+            if (arguments.length == 0) {
+                return literals[0];
+            }
+            StringBuilder out = new StringBuilder(64);
+            for (int i = 0; i < arguments.length; i++) {
+                out.append(literals[i]).append(args[arguments[i]]);
+            }
+            return out.append(literals[arguments.length]).toString();
+        }
+    }
+}
@@ -4,17 +4,49 @@ import com.tm.api.dto.ActivityDTO;
 import com.tm.api.dto.SubtaskDTO;
 import com.tm.api.dto.TaskDTO;
 import com.tm.api.model.Task;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class TaskMapper {
 
+        private final ActivityMessages activityMessages;
+
         public TaskDTO toDTO(Task task) {
                 if (task == null)
                         return null;
 
+                return summary(task)
+                                .activities(task.getActivities().stream()
+                                                .map(a -> ActivityDTO.builder()
+                                                                .id(a.getId())
+                                                                .eventCode(a.getEventCode())
+                                                                .message(activityMessages.render(a.getEventCode(), a.getMessage(),
+                                                                                a.getFieldName(), a.getOldVal(), a.getNewVal()))
+                                                                .fieldName(a.getFieldName())
+                                                                .oldVal(a.getOldVal())
+                                                                .newVal(a.getNewVal())
+                                                                .timestamp(a.getTimestamp())
+                                                                .build())
+                                                .collect(Collectors.toList()))
+                                .build();
+        }
+
+        /**
+         * List entries: the card fields and checklist, without the activity
+         * timeline, so a page never loads the activities of its tasks.
+         */
+        public TaskDTO toListDTO(Task task) {
+                if (task == null)
+                        return null;
+
+                return summary(task).activities(null).build();
+        }
+
+        private TaskDTO.TaskDTOBuilder summary(Task task) {
                 return TaskDTO.builder()
                                 .id(task.getId())
                                 .title(task.getTitle())
@@ -26,12 +58,15 @@ public class TaskMapper {
                                 .createdAt(task.getCreatedAt())
                                 .updatedAt(task.getUpdatedAt())
                                 .completedAt(task.getCompletedAt())
-                                .deletedAt(task.getDeletedAt())
                                 .overdue(task.isOverdue())
                                 .progress(task.getProgress())
+                                .subtaskTotal(task.getSubtaskTotal() != null ? task.getSubtaskTotal() : 0)
+                                .subtaskCompleted(task.getSubtaskCompleted() != null ? task.getSubtaskCompleted() : 0)
                                 .important(task.isImportant())
                                 .reminderEnabled(task.isReminderEnabled())
                                 .reminderTime(task.getReminderTime())
+                                .recurrenceRule(task.getRecurrenceRule())
+                                .occurrenceOf(task.getOccurrenceOf())
                                 .subtasks(task.getSubtasks().stream()
                                                 .map(s -> {
                                                         var sDto = SubtaskDTO.builder()
@@ -43,17 +78,6 @@ public class TaskMapper {
                                                                         .build();
                                                         return sDto;
                                                 })
-                                                .collect(Collectors.toList()))
-                                .activities(task.getActivities().stream()
-                                                .map(a -> ActivityDTO.builder()
-                                                                .id(a.getId())
-                                                                .message(a.getMessage())
-                                                                .fieldName(a.getFieldName())
-                                                                .oldVal(a.getOldVal())
-                                                                .newVal(a.getNewVal())
-                                                                .timestamp(a.getTimestamp())
-                                                                .build())
-                                                .collect(Collectors.toList()))
-                                .build();
+                                                .collect(Collectors.toList()));
         }
 }
@@ -2,7 +2,6 @@ package com.tm.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,10 +16,15 @@ import java.util.UUID;
 public class Activity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
-    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private ActivityCode eventCode;
+
+    /** Free text of rows written before event codes existed; null otherwise. */
+    @Column
     private String message;
 
     @Column
@@ -32,10 +36,13 @@ public class Activity {
     @Column(columnDefinition = "TEXT")
     private String newVal;
 
-    @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime timestamp;
 
+    /** Outbox event this entry was projected from, used to skip redeliveries. */
+    @Column
+    private UUID eventId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     private Task task;
@@ -0,0 +1,63 @@
+package com.tm.api.model;
+
+/**
+ * What an {@link Activity} records. The timeline text is rendered from the code
+ * and the old/new values when it is read (see ActivityMessages), so rows only
+ * store the code, the field and the values.
+ */
+public enum ActivityCode {
+    CREATED,
+    REMINDER_TRIGGERED,
+    STATUS_CHANGED,
+    TITLE_CHANGED,
+    DESCRIPTION_CHANGED,
+    PRIORITY_CHANGED,
+    DUE_DATE_CHANGED,
+    DUE_DATE_REMOVED,
+    MARKED_IMPORTANT,
+    UNMARKED_IMPORTANT,
+    REMINDER_ENABLED,
+    REMINDER_DISABLED,
+    RECURRENCE_CHANGED,
+    RECURRENCE_REMOVED,
+    TRASHED,
+    RESTORED,
+    SUBTASK_ADDED,
+    SUBTASK_REMOVED,
+    SUBTASK_COMPLETED,
+    SUBTASK_REOPENED,
+    SUBTASK_RENAMED,
+    FIELD_CHANGED;
+
+    /** Code for a change of {@code field} (as named in the audit payload) to {@code newValue}. */
+    public static ActivityCode forChange(String field, Object newValue) {
+        boolean on = Boolean.parseBoolean(String.valueOf(newValue));
+        if (field.startsWith("subtask_added_")) {
+            return SUBTASK_ADDED;
+        }
+        if (field.startsWith("subtask_removed_")) {
+            return SUBTASK_REMOVED;
+        }
+        if (field.startsWith("subtask_completed_")) {
+            return SUBTASK_COMPLETED;
+        }
+        if (field.startsWith("subtask_uncompleted_")) {
+            return SUBTASK_REOPENED;
+        }
+        if (field.startsWith("subtask_renamed_")) {
+            return SUBTASK_RENAMED;
+        }
+        return switch (field) {
+            case "status" -> STATUS_CHANGED;
+            case "título" -> TITLE_CHANGED;
+            case "descrição" -> DESCRIPTION_CHANGED;
+            case "prioridade" -> PRIORITY_CHANGED;
+            case "prazo" -> newValue == null ? DUE_DATE_REMOVED : DUE_DATE_CHANGED;
+            case "importância" -> on ? MARKED_IMPORTANT : UNMARKED_IMPORTANT;
+            case "lembrete" -> on ? REMINDER_ENABLED : REMINDER_DISABLED;
+            case "recorrência" -> newValue == null ? RECURRENCE_REMOVED : RECURRENCE_CHANGED;
+            case "deleted" -> on ? TRASHED : RESTORED;
+            default -> FIELD_CHANGED;
+        };
+    }
+}
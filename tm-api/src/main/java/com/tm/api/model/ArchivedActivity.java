@@ -0,0 +1,48 @@
+package com.tm.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** Activity of a trashed task; also written directly for events projected after the move. */
+@Entity
+@Table(name = "activities_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedActivity {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private ActivityCode eventCode;
+
+    @Column
+    private String message;
+
+    @Column
+    private String fieldName;
+
+    @Column(columnDefinition = "TEXT")
+    private String oldVal;
+
+    @Column(columnDefinition = "TEXT")
+    private String newVal;
+
+    @Column(updatable = false)
+    private LocalDateTime timestamp;
+
+    @Column
+    private UUID eventId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id")
+    private ArchivedTask task;
+}
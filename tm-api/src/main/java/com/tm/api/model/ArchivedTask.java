@@ -0,0 +1,80 @@
+package com.tm.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A trashed task. Rows are moved here from {@code tasks} by {@code TaskArchiver}
+ * and keep their id, so restore moves them back unchanged.
+ */
+@Entity
+@Table(name = "tasks_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedTask {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column
+    private Integer position;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(nullable = false)
+    private LocalDateTime dueDate;
+
+    @Column
+    private Boolean important;
+
+    @Column
+    private Boolean reminderEnabled;
+
+    @Column
+    private LocalDateTime reminderTime;
+
+    @Column(length = 100)
+    private String recurrenceRule;
+
+    @Column
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime updatedAt;
+
+    @Column
+    private LocalDateTime completedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private Integer subtaskTotal = 0;
+
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private Integer subtaskCompleted = 0;
+}
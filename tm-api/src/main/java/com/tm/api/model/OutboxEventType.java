@@ -0,0 +1,6 @@
+package com.tm.api.model;
+
+public enum OutboxEventType {
+    TASK_AUDIT,
+    REMINDER_TRIGGERED
+}
@@ -0,0 +1,22 @@
+package com.tm.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/** Next free board position per status, shared by all API instances. */
+@Entity
+@Table(name = "position_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionCounter {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    @Column(nullable = false)
+    private Integer nextPosition;
+}
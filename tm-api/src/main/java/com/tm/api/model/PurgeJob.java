@@ -0,0 +1,75 @@
+package com.tm.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Permanent removal of trashed tasks, executed in chunks by {@code PurgeWorker}.
+ * A job either targets one task ({@code taskId}) or every task trashed up to
+ * {@code cutoff}.
+ */
+@Entity
+@Table(name = "purge_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurgeJob {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column
+    private UUID taskId;
+
+    @Column
+    private LocalDateTime cutoff;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private PurgeJobStatus status = PurgeJobStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer totalTasks = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer purgedTasks = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer purgedSubtasks = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer purgedActivities = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer chunks = 0;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime finishedAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public boolean isActive() {
+        return status == PurgeJobStatus.PENDING || status == PurgeJobStatus.RUNNING;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tm.api.model;
+
+public enum PurgeJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
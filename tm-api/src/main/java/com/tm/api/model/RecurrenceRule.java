@@ -0,0 +1,93 @@
+package com.tm.api.model;
+
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How a recurring task repeats: {@code DAILY} or {@code WEEKLY}, optionally
+ * every n periods ({@code DAILY/3}, {@code WEEKLY/2}), or {@code CRON <expression>}
+ * with a six-field Spring cron expression ({@code CRON 0 0 9 * * MON-FRI}).
+ * Interval rules count from the due date of the current occurrence; cron rules
+ * only use it as the starting point.
+ */
+public final class RecurrenceRule {
+
+    private static final int MAX_INTERVAL = 366;
+
+    private final String text;
+    private final ChronoUnit unit;
+    private final int interval;
+    private final CronExpression cron;
+
+    private RecurrenceRule(String text, ChronoUnit unit, int interval, CronExpression cron) {
+        this.text = text;
+        this.unit = unit;
+        this.interval = interval;
+        this.cron = cron;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is empty");
+        }
+        String trimmed = rule.trim();
+        try {
+            if (trimmed.regionMatches(true, 0, "CRON ", 0, 5)) {
+                String expression = trimmed.substring(5).trim();
+                return new RecurrenceRule("CRON " + expression, null, 0, CronExpression.parse(expression));
+            }
+            String[] parts = trimmed.toUpperCase(Locale.ROOT).split("/", 2);
+            ChronoUnit unit = switch (parts[0]) {
+                case "DAILY" -> ChronoUnit.DAYS;
+                case "WEEKLY" -> ChronoUnit.WEEKS;
+                default -> throw new IllegalArgumentException(parts[0]);
+            };
+            int interval = parts.length == 2 ? Integer.parseInt(parts[1]) : 1;
+            if (interval < 1 || interval > MAX_INTERVAL) {
+                throw new IllegalArgumentException("interval " + interval);
+            }
+            return new RecurrenceRule(interval == 1 ? parts[0] : parts[0] + "/" + interval, unit, interval, null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid recurrence rule: " + rule);
+        }
+    }
+
+    /** Canonical text of {@code rule}, or null when it is blank (no recurrence). */
+    public static String normalize(String rule) {
+        return rule == null || rule.isBlank() ? null : parse(rule).toString();
+    }
+
+    /**
+     * First occurrence after both {@code anchor} (the current occurrence) and
+     * {@code after}; null if a cron rule has no further match.
+     */
+    public LocalDateTime next(LocalDateTime anchor, LocalDateTime after) {
+        LocalDateTime from = after.isAfter(anchor) ? after : anchor;
+        if (cron != null) {
+            return cron.next(from);
+        }
+        long periods = unit.between(anchor, from) / interval + 1;
+        return anchor.plus(periods * interval, unit);
+    }
+
+    /** Occurrences after {@code anchor} falling in [from, to), at most {@code limit} of them. */
+    public List<LocalDateTime> occurrences(LocalDateTime anchor, LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime next = next(anchor, from.minusNanos(1));
+        while (next != null && next.isBefore(to) && occurrences.size() < limit) {
+            occurrences.add(next);
+            next = next(anchor, next);
+        }
+        return occurrences;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tm.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Delivery of one reminder through one sink. Created as PENDING when the
+ * reminder fires and retried by {@code ReminderDispatcher} until it is
+ * DELIVERED or, after {@code max-attempts}, FAILED.
+ */
+@Entity
+@Table(name = "reminder_deliveries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReminderDelivery {
+
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID taskId;
+
+    @Column(nullable = false)
+    private LocalDateTime reminderTime;
+
+    // Copied so the notification can still be sent after the task is edited or purged
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 40)
+    private String sink;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private ReminderDeliveryStatus status = ReminderDeliveryStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column
+    private LocalDateTime deliveredAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
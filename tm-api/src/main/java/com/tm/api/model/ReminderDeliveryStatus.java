@@ -0,0 +1,7 @@
+package com.tm.api.model;
+
+public enum ReminderDeliveryStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
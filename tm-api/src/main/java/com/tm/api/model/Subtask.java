@@ -15,7 +15,7 @@ import java.util.UUID;
 public class Subtask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
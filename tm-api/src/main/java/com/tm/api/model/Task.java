@@ -6,12 +6,12 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.SQLDelete;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Entity
@@ -21,13 +21,10 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@SQLDelete(sql = "UPDATE tasks SET deleted = true, deleted_at = CURRENT_TIMESTAMP WHERE id=?")
-@SQLRestriction("deleted = false")
-
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -62,6 +59,14 @@ public class Task {
     @Column
     private LocalDateTime reminderTime;
 
+    // RecurrenceRule text; only the open occurrence of a series carries it
+    @Column(length = 100)
+    private String recurrenceRule;
+
+    // Set on virtual occurrences only: the task whose rule produced them
+    @Transient
+    private UUID occurrenceOf;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -72,17 +77,22 @@ public class Task {
     @Column
     private LocalDateTime completedAt;
 
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
     @Builder.Default
-    private Boolean deleted = false;
+    private Integer subtaskTotal = 0;
 
-    @Column
-    private LocalDateTime deletedAt;
+    @Column(nullable = false, columnDefinition = "INTEGER DEFAULT 0")
+    @Builder.Default
+    private Integer subtaskCompleted = 0;
 
+    // Children of a page of tasks load in one query per collection, not one per task
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     private java.util.List<Subtask> subtasks = new java.util.ArrayList<>();
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     @OrderBy("timestamp DESC")
     private java.util.List<Activity> activities = new java.util.ArrayList<>();
@@ -93,25 +103,84 @@ public class Task {
 
     /**
      * Business Logic: Unified Status Transition
+     * Completing a recurring task hands its rule to the next occurrence, which is
+     * returned unsaved; no other occurrence of the series exists as a row.
      */
-    public void transitionTo(TaskStatus newStatus) {
+    public Optional<Task> transitionTo(TaskStatus newStatus) {
+        boolean completing = newStatus == TaskStatus.DONE && this.status != TaskStatus.DONE;
         if (this.status == TaskStatus.DONE && newStatus != TaskStatus.DONE) {
             this.completedAt = null;
-        } else if (newStatus == TaskStatus.DONE && this.status != TaskStatus.DONE) {
+        } else if (completing) {
             this.completedAt = LocalDateTime.now();
         }
         this.status = newStatus;
+
+        if (!completing || recurrenceRule == null) {
+            return Optional.empty();
+        }
+        // Occurrences that fell due while this one was open are skipped
+        LocalDateTime nextDue = RecurrenceRule.parse(recurrenceRule).next(dueDate, completedAt);
+        Task next = nextDue == null ? null : occurrenceAt(nextDue, true);
+        this.recurrenceRule = null;
+        return Optional.ofNullable(next);
+    }
+
+    /**
+     * Business Logic: Virtual Occurrence
+     * An unsaved copy due at {@code due}, listed in due windows without a row.
+     */
+    public Task virtualOccurrence(LocalDateTime due) {
+        Task occurrence = occurrenceAt(due, false);
+        occurrence.setOccurrenceOf(id);
+        return occurrence;
+    }
+
+    private Task occurrenceAt(LocalDateTime due, boolean withSubtasks) {
+        Task occurrence = Task.builder()
+                .title(title)
+                .description(description)
+                .status(TaskStatus.TODO)
+                .priority(priority)
+                .dueDate(due)
+                .important(important)
+                .reminderEnabled(reminderEnabled)
+                .reminderTime(reminderTime == null ? null
+                        : reminderTime.plus(java.time.Duration.between(dueDate, due)))
+                .recurrenceRule(recurrenceRule)
+                .build();
+        if (withSubtasks) {
+            subtasks.forEach(subtask -> occurrence.getSubtasks().add(Subtask.builder()
+                    .title(subtask.getTitle())
+                    .completed(false)
+                    .task(occurrence)
+                    .build()));
+            occurrence.refreshSubtaskCounters();
+        } else {
+            occurrence.setSubtaskTotal(subtaskTotal);
+        }
+        return occurrence;
     }
 
     /**
      * Business Logic: Progress Calculation
+     * Derived from the denormalized counters so the subtasks collection stays lazy.
      */
     public double getProgress() {
-        if (subtasks == null || subtasks.isEmpty()) {
+        int total = subtaskTotal != null ? subtaskTotal : 0;
+        if (total == 0) {
             return status == TaskStatus.DONE ? 100.0 : 0.0;
         }
-        long completedCount = subtasks.stream().filter(Subtask::isCompleted).count();
-        return (double) completedCount / subtasks.size() * 100.0;
+        int completed = subtaskCompleted != null ? subtaskCompleted : 0;
+        return (double) completed / total * 100.0;
+    }
+
+    /**
+     * Business Logic: Subtask Counter Maintenance
+     * Must be called by every path that mutates the subtasks collection.
+     */
+    public void refreshSubtaskCounters() {
+        this.subtaskTotal = subtasks.size();
+        this.subtaskCompleted = (int) subtasks.stream().filter(Subtask::isCompleted).count();
     }
 
     public boolean isImportant() {
@@ -121,8 +190,4 @@ public class Task {
     public boolean isReminderEnabled() {
         return Boolean.TRUE.equals(reminderEnabled);
     }
-
-    public boolean isDeleted() {
-        return Boolean.TRUE.equals(deleted);
-    }
 }
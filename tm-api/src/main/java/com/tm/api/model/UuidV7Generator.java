@@ -0,0 +1,44 @@
+package com.tm.api.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 UUIDv7 generator.
+ * Layout: 48-bit Unix millis | version 7 | 12-bit sequence | variant | 62 random bits.
+ * The millis and sequence are drawn from one packed counter, so values are
+ * strictly increasing within the JVM even when the clock stalls or steps back.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final AtomicLong STATE = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long packed = STATE.updateAndGet(previous -> Math.max(now, previous + 1));
+        long millis = packed >>> 12;
+        long sequence = packed & 0xFFFL;
+
+        long msb = (millis << 16) | 0x7000L | sequence;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+            EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
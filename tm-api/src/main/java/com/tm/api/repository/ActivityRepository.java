@@ -8,4 +8,5 @@ import java.util.UUID;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, UUID> {
+    boolean existsByEventId(UUID eventId);
 }
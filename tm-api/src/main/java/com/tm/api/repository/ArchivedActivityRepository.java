@@ -0,0 +1,12 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.ArchivedActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ArchivedActivityRepository extends JpaRepository<ArchivedActivity, UUID> {
+    boolean existsByEventId(UUID eventId);
+}
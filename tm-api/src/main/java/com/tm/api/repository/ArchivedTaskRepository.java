@@ -0,0 +1,166 @@
+package com.tm.api.repository;
+
+import com.tm.api.dto.HistoryEntryDTO;
+import com.tm.api.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Archive tables plus the native statements that move rows between them and
+ * the live tables. Moves are INSERT ... SELECT followed by a DELETE and must run
+ * in the caller's transaction.
+ */
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, UUID> {
+
+    String TASK_COLUMNS = "id, title, position, description, status, priority, due_date, important, reminder_enabled, "
+            + "reminder_time, recurrence_rule, created_at, updated_at, completed_at, subtask_total, subtask_completed";
+    String SUBTASK_COLUMNS = "id, title, completed, created_at, completed_at, task_id";
+    String ACTIVITY_COLUMNS = "id, event_code, message, field_name, old_val, new_val, timestamp, task_id, event_id";
+    // Restore-all skips tasks whose permanent delete is still queued
+    String RESTORABLE_SINCE = "deleted_at > :after AND id NOT IN (SELECT task_id FROM purge_jobs "
+            + "WHERE task_id IS NOT NULL AND status IN ('PENDING', 'RUNNING'))";
+    String ARCHIVED_SINCE = "SELECT id FROM tasks_archive WHERE " + RESTORABLE_SINCE;
+
+    String HISTORY_ENTRY = "SELECT new com.tm.api.dto.HistoryEntryDTO(t.id, t.title, t.status, t.completedAt, "
+            + "t.deletedAt, t.subtaskTotal, t.subtaskCompleted, "
+            + "(SELECT COUNT(a) FROM ArchivedActivity a WHERE a.task = t)) FROM ArchivedTask t ";
+    String NOT_QUEUED_FOR_PURGE = "AND NOT EXISTS (SELECT j FROM PurgeJob j WHERE j.taskId = t.id "
+            + "AND j.status IN (com.tm.api.model.PurgeJobStatus.PENDING, com.tm.api.model.PurgeJobStatus.RUNNING)) ";
+
+    // History listing: keyset pages over idx_tasks_archive_deleted_at, newest first, without queued purges
+    @org.springframework.data.jpa.repository.Query(HISTORY_ENTRY + "WHERE t.deletedAt > :hiddenUpTo " + NOT_QUEUED_FOR_PURGE
+            + "ORDER BY t.deletedAt DESC, t.id DESC")
+    List<HistoryEntryDTO> findHistoryHead(
+            @org.springframework.data.repository.query.Param("hiddenUpTo") LocalDateTime hiddenUpTo,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query(HISTORY_ENTRY + "WHERE t.deletedAt > :hiddenUpTo " + NOT_QUEUED_FOR_PURGE
+            + "AND (t.deletedAt < :deletedAt OR (t.deletedAt = :deletedAt AND t.id < :id)) "
+            + "ORDER BY t.deletedAt DESC, t.id DESC")
+    List<HistoryEntryDTO> findHistoryAfter(
+            @org.springframework.data.repository.query.Param("hiddenUpTo") LocalDateTime hiddenUpTo,
+            @org.springframework.data.repository.query.Param("deletedAt") LocalDateTime deletedAt,
+            @org.springframework.data.repository.query.Param("id") UUID id,
+            org.springframework.data.domain.Pageable pageable);
+
+    // Live -> Archive (single task)
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO tasks_archive (" + TASK_COLUMNS + ", deleted_at) "
+            + "SELECT " + TASK_COLUMNS + ", CURRENT_TIMESTAMP FROM tasks WHERE id = :id", nativeQuery = true)
+    int archiveTask(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO subtasks_archive (" + SUBTASK_COLUMNS + ") "
+            + "SELECT " + SUBTASK_COLUMNS + " FROM subtasks WHERE task_id = :id", nativeQuery = true)
+    int archiveSubtasks(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO activities_archive (" + ACTIVITY_COLUMNS + ") "
+            + "SELECT " + ACTIVITY_COLUMNS + " FROM activities WHERE task_id = :id", nativeQuery = true)
+    int archiveActivities(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM activities WHERE task_id = :id", nativeQuery = true)
+    int deleteLiveActivities(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM subtasks WHERE task_id = :id", nativeQuery = true)
+    int deleteLiveSubtasks(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM tasks WHERE id = :id", nativeQuery = true)
+    int deleteLiveTask(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    // Archive -> Live (single task)
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO tasks (" + TASK_COLUMNS + ") "
+            + "SELECT " + TASK_COLUMNS + " FROM tasks_archive WHERE id = :id", nativeQuery = true)
+    int restoreTask(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO subtasks (" + SUBTASK_COLUMNS + ") "
+            + "SELECT " + SUBTASK_COLUMNS + " FROM subtasks_archive WHERE task_id = :id", nativeQuery = true)
+    int restoreSubtasks(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO activities (" + ACTIVITY_COLUMNS + ") "
+            + "SELECT " + ACTIVITY_COLUMNS + " FROM activities_archive WHERE task_id = :id", nativeQuery = true)
+    int restoreActivities(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM activities_archive WHERE task_id = :id", nativeQuery = true)
+    int deleteArchivedActivities(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM subtasks_archive WHERE task_id = :id", nativeQuery = true)
+    int deleteArchivedSubtasks(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    @org.springframework.data.jpa.repository.Modifying(clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM tasks_archive WHERE id = :id", nativeQuery = true)
+    int deleteArchivedTask(@org.springframework.data.repository.query.Param("id") UUID id);
+
+    // Archive -> Live (everything archived after a cutoff, restored as DONE)
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true, clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO tasks (" + TASK_COLUMNS + ") "
+            + "SELECT id, title, position, description, 'DONE', priority, due_date, important, reminder_enabled, "
+            + "reminder_time, recurrence_rule, created_at, updated_at, completed_at, subtask_total, subtask_completed "
+            + "FROM tasks_archive WHERE " + RESTORABLE_SINCE, nativeQuery = true)
+    int restoreTasksArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO subtasks (" + SUBTASK_COLUMNS + ") "
+            + "SELECT " + SUBTASK_COLUMNS + " FROM subtasks_archive WHERE task_id IN (" + ARCHIVED_SINCE + ")", nativeQuery = true)
+    int restoreSubtasksArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "INSERT INTO activities (" + ACTIVITY_COLUMNS + ") "
+            + "SELECT " + ACTIVITY_COLUMNS + " FROM activities_archive WHERE task_id IN (" + ARCHIVED_SINCE + ")", nativeQuery = true)
+    int restoreActivitiesArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM activities_archive WHERE task_id IN (" + ARCHIVED_SINCE + ")", nativeQuery = true)
+    int deleteActivitiesArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM subtasks_archive WHERE task_id IN (" + ARCHIVED_SINCE + ")", nativeQuery = true)
+    int deleteSubtasksArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    @org.springframework.data.jpa.repository.Modifying(clearAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM tasks_archive WHERE " + RESTORABLE_SINCE, nativeQuery = true)
+    int deleteTasksArchivedAfter(@org.springframework.data.repository.query.Param("after") LocalDateTime after);
+
+    // Chunked Purge (see PurgeWorker)
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(t) FROM ArchivedTask t WHERE t.deletedAt <= :cutoff")
+    int countPurgeable(@org.springframework.data.repository.query.Param("cutoff") LocalDateTime cutoff);
+
+    @org.springframework.data.jpa.repository.Query("SELECT t.id FROM ArchivedTask t WHERE t.deletedAt <= :cutoff ORDER BY t.deletedAt, t.id")
+    List<UUID> findPurgeableIds(@org.springframework.data.repository.query.Param("cutoff") LocalDateTime cutoff,
+            org.springframework.data.domain.Pageable pageable);
+
+    // Child ids are read first: H2 miscounts DELETE ... IN (SELECT ... LIMIT) on the same table
+    @org.springframework.data.jpa.repository.Query("SELECT a.id FROM ArchivedActivity a WHERE a.task.id IN :taskIds")
+    List<UUID> findActivityIds(@org.springframework.data.repository.query.Param("taskIds") Collection<UUID> taskIds,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ArchivedActivity a WHERE a.id IN :ids")
+    int deleteActivitiesByIds(@org.springframework.data.repository.query.Param("ids") Collection<UUID> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT s.id FROM ArchivedSubtask s WHERE s.task.id IN :taskIds")
+    List<UUID> findSubtaskIds(@org.springframework.data.repository.query.Param("taskIds") Collection<UUID> taskIds,
+            org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ArchivedSubtask s WHERE s.id IN :ids")
+    int deleteSubtasksByIds(@org.springframework.data.repository.query.Param("ids") Collection<UUID> ids);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ArchivedTask t WHERE t.id IN :ids")
+    int deleteTasksByIds(@org.springframework.data.repository.query.Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,10 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/** One row of the calendar aggregate: tasks due on a day with a given status and priority. */
+public record DueDayCount(LocalDate day, TaskStatus status, Priority priority, long count) {
+}
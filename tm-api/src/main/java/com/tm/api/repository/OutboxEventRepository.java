@@ -0,0 +1,39 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+    @org.springframework.data.jpa.repository.Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts ORDER BY e.id ASC")
+    java.util.List<OutboxEvent> findPending(@org.springframework.data.repository.query.Param("maxAttempts") int maxAttempts,
+            Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts < :maxAttempts")
+    java.time.LocalDateTime findOldestPendingCreatedAt(
+            @org.springframework.data.repository.query.Param("maxAttempts") int maxAttempts);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts >= :maxAttempts")
+    long countDeadLettered(@org.springframework.data.repository.query.Param("maxAttempts") int maxAttempts);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE OutboxEvent e SET e.processedAt = :processedAt WHERE e.id = :id")
+    int markProcessed(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("processedAt") java.time.LocalDateTime processedAt);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id = :id")
+    int recordFailure(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("error") String error);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :before")
+    int deleteProcessedBefore(@org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.PositionCounter;
+import com.tm.api.model.TaskStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PositionCounterRepository extends JpaRepository<PositionCounter, TaskStatus> {
+    /** Reserves {@code size} positions; the row lock serializes concurrent instances. */
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE PositionCounter c SET c.nextPosition = c.nextPosition + :size WHERE c.status = :status")
+    int advance(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("size") int size);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE PositionCounter c SET c.nextPosition = :floor WHERE c.status = :status AND c.nextPosition < :floor")
+    int raiseTo(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("floor") int floor);
+
+    @org.springframework.data.jpa.repository.Query("SELECT c.nextPosition FROM PositionCounter c WHERE c.status = :status")
+    java.util.Optional<Integer> findNextPosition(@org.springframework.data.repository.query.Param("status") TaskStatus status);
+}
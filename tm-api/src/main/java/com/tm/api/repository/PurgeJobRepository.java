@@ -0,0 +1,21 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.PurgeJob;
+import com.tm.api.model.PurgeJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, UUID> {
+    List<PurgeJob> findByStatusInOrderByIdAsc(Collection<PurgeJobStatus> statuses);
+
+    boolean existsByTaskIdAndStatusIn(UUID taskId, Collection<PurgeJobStatus> statuses);
+
+    @org.springframework.data.jpa.repository.Query("SELECT j FROM PurgeJob j ORDER BY j.id DESC")
+    List<PurgeJob> findRecent(Pageable pageable);
+}
@@ -0,0 +1,47 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.ReminderDelivery;
+import com.tm.api.model.ReminderDeliveryStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReminderDeliveryRepository extends JpaRepository<ReminderDelivery, UUID> {
+    boolean existsByTaskIdAndReminderTime(UUID taskId, LocalDateTime reminderTime);
+
+    @org.springframework.data.jpa.repository.Query("SELECT d FROM ReminderDelivery d WHERE d.status = com.tm.api.model.ReminderDeliveryStatus.PENDING "
+            + "AND d.sink = :sink AND d.nextAttemptAt <= :now ORDER BY d.nextAttemptAt ASC")
+    List<ReminderDelivery> findDue(@org.springframework.data.repository.query.Param("sink") String sink,
+            @org.springframework.data.repository.query.Param("now") LocalDateTime now, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(d) FROM ReminderDelivery d WHERE d.status = :status")
+    long countByStatus(@org.springframework.data.repository.query.Param("status") ReminderDeliveryStatus status);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE ReminderDelivery d SET d.status = com.tm.api.model.ReminderDeliveryStatus.DELIVERED, "
+            + "d.attempts = d.attempts + 1, d.deliveredAt = :deliveredAt, d.lastError = NULL WHERE d.id IN :ids")
+    int markDelivered(@org.springframework.data.repository.query.Param("ids") Collection<UUID> ids,
+            @org.springframework.data.repository.query.Param("deliveredAt") LocalDateTime deliveredAt);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE ReminderDelivery d SET d.attempts = d.attempts + 1, d.status = :status, "
+            + "d.nextAttemptAt = :nextAttemptAt, d.lastError = :error WHERE d.id = :id")
+    int recordFailure(@org.springframework.data.repository.query.Param("id") UUID id,
+            @org.springframework.data.repository.query.Param("status") ReminderDeliveryStatus status,
+            @org.springframework.data.repository.query.Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @org.springframework.data.repository.query.Param("error") String error);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("DELETE FROM ReminderDelivery d WHERE d.reminderTime < :before "
+            + "AND d.status <> com.tm.api.model.ReminderDeliveryStatus.PENDING")
+    int deleteFinishedBefore(@org.springframework.data.repository.query.Param("before") LocalDateTime before);
+}
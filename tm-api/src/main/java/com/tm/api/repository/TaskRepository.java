@@ -18,58 +18,62 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
     @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t ORDER BY t.position ASC, t.createdAt DESC")
     Page<Task> findAll(Pageable pageable);
 
+    // Due Date Windows: one status per query so idx_tasks_status_due is a range scan
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate < :before ORDER BY t.dueDate ASC, t.id ASC")
+    Page<Task> findDueBefore(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate >= :after ORDER BY t.dueDate ASC, t.id ASC")
+    Page<Task> findDueAfter(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("after") java.time.LocalDateTime after, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.status = :status AND t.dueDate >= :after AND t.dueDate < :before ORDER BY t.dueDate ASC, t.id ASC")
+    Page<Task> findDueBetween(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("after") java.time.LocalDateTime after,
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before, Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT COUNT(t) FROM Task t WHERE t.status = :status AND t.dueDate < :before")
+    long countDueBefore(@org.springframework.data.repository.query.Param("status") TaskStatus status,
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before);
+
+    // Calendar: index-only range scan on idx_tasks_due_status_priority
+    @org.springframework.data.jpa.repository.Query("SELECT new com.tm.api.repository.DueDayCount(CAST(t.dueDate AS LocalDate), "
+            + "t.status, t.priority, COUNT(t)) FROM Task t WHERE t.dueDate >= :after AND t.dueDate < :before "
+            + "GROUP BY CAST(t.dueDate AS LocalDate), t.status, t.priority")
+    java.util.List<DueDayCount> countByDueDay(@org.springframework.data.repository.query.Param("after") java.time.LocalDateTime after,
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before);
+
+    @org.springframework.data.jpa.repository.Query("SELECT new com.tm.api.dto.CalendarEntryDTO(t.id, t.title, t.status, t.priority, "
+            + "t.dueDate, t.important, t.subtaskTotal, t.subtaskCompleted) FROM Task t "
+            + "WHERE t.dueDate >= :after AND t.dueDate < :before ORDER BY t.dueDate ASC, t.id ASC")
+    java.util.List<com.tm.api.dto.CalendarEntryDTO> findCalendarEntries(
+            @org.springframework.data.repository.query.Param("after") java.time.LocalDateTime after,
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before, Pageable pageable);
+
+    // Recurring series still open: idx_tasks_recurrence_due, one row per series. Rules are never blank, so
+    // "> ''" keeps the same rows; H2 will not range-scan an index on IS NOT NULL and would walk
+    // idx_tasks_due_status_priority over every task due before the window instead.
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.recurrenceRule > '' AND t.dueDate < :before "
+            + "AND t.status <> com.tm.api.model.TaskStatus.DONE")
+    java.util.List<Task> findOpenRecurringDueBefore(
+            @org.springframework.data.repository.query.Param("before") java.time.LocalDateTime before);
+
+    // Reminders: range scan on idx_tasks_reminder_time
+    @org.springframework.data.jpa.repository.Query("SELECT t FROM Task t WHERE t.reminderTime > :after AND t.reminderTime <= :until "
+            + "AND t.reminderEnabled = true AND t.status <> com.tm.api.model.TaskStatus.DONE ORDER BY t.reminderTime ASC")
+    java.util.List<Task> findRemindersDue(@org.springframework.data.repository.query.Param("after") java.time.LocalDateTime after,
+            @org.springframework.data.repository.query.Param("until") java.time.LocalDateTime until);
+
     @org.springframework.data.jpa.repository.Query("SELECT COALESCE(MAX(t.position), -1) FROM Task t WHERE t.status = :status")
     int findMaxPositionByStatus(@org.springframework.data.repository.query.Param("status") TaskStatus status);
 
-    @org.springframework.data.jpa.repository.Query(value = "SELECT * FROM tasks WHERE id = :id", nativeQuery = true)
-    java.util.Optional<Task> findByIdIncludeDeleted(@org.springframework.data.repository.query.Param("id") UUID id);
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "UPDATE tasks SET deleted = false WHERE id = :id", nativeQuery = true)
-    int restoreByIdNative(@org.springframework.data.repository.query.Param("id") UUID id);
-
-    @org.springframework.data.jpa.repository.Query(value = "SELECT * FROM tasks WHERE deleted = true ORDER BY completed_at DESC", nativeQuery = true)
-    java.util.List<Task> findAllDeletedNative();
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM tasks WHERE id = ?1", nativeQuery = true)
-    void deletePermanentlyNative(java.util.UUID id);
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM notifications WHERE task_id = ?1", nativeQuery = true)
-    void deleteNotificationsNative(java.util.UUID id);
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM activities WHERE task_id = ?1", nativeQuery = true)
-    void deleteActivitiesNative(java.util.UUID id);
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM subtasks WHERE task_id = ?1", nativeQuery = true)
-    void deleteSubtasksNative(java.util.UUID id);
-
-    // Bulk Operations
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "UPDATE tasks SET deleted = false, status = 'DONE' WHERE deleted = true", nativeQuery = true)
-    void restoreAllDeletedNative();
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM activities WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true)", nativeQuery = true)
-    void deleteAllDeletedActivitiesNative();
-
-    @org.springframework.data.jpa.repository.Modifying
-    @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM subtasks WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true)", nativeQuery = true)
-    void deleteAllDeletedSubtasksNative();
-
+    // Denormalized Counters
     @org.springframework.data.jpa.repository.Modifying
     @org.springframework.transaction.annotation.Transactional
-    @org.springframework.data.jpa.repository.Query(value = "DELETE FROM tasks WHERE deleted = true", nativeQuery = true)
-    void deleteAllDeletedNative();
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE tasks t SET "
+            + "subtask_total = (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id), "
+            + "subtask_completed = (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id AND s.completed = true) "
+            + "WHERE t.subtask_total <> (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id) "
+            + "OR t.subtask_completed <> (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id AND s.completed = true)", nativeQuery = true)
+    int repairSubtaskCounters();
 }
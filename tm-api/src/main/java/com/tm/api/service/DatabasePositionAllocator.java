@@ -0,0 +1,110 @@
+package com.tm.api.service;
+
+import com.tm.api.model.PositionCounter;
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.PositionCounterRepository;
+import com.tm.api.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Multi-instance allocator backed by the {@code position_counters} table. Each
+ * instance reserves a block of positions in its own short transaction, so the
+ * counter row is locked once per block rather than for the whole create.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "tm.positions.allocator", havingValue = "database")
+public class DatabasePositionAllocator implements PositionAllocator {
+
+    private final PositionCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+    private final Map<TaskStatus, Block> blocks = new EnumMap<>(TaskStatus.class);
+
+    public DatabasePositionAllocator(PositionCounterRepository counterRepository,
+            TaskRepository taskRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${tm.positions.block-size:20}") int blockSize) {
+        this.counterRepository = counterRepository;
+        this.taskRepository = taskRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+        for (TaskStatus status : TaskStatus.values()) {
+            blocks.put(status, new Block());
+        }
+    }
+
+    @Override
+    public int next(TaskStatus status) {
+        Block block = blocks.get(status);
+        block.lock.lock();
+        try {
+            if (block.next >= block.end) {
+                if (!block.seeded) {
+                    seed(status);
+                    block.seeded = true;
+                }
+                block.end = reserve(status, blockSize);
+                block.next = block.end - blockSize;
+            }
+            return block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    @Override
+    public void observe(TaskStatus status, int position) {
+        requiresNew.executeWithoutResult(tx -> counterRepository.raiseTo(status, position + 1));
+        Block block = blocks.get(status);
+        block.lock.lock();
+        try {
+            if (position >= block.next) {
+                // Positions left in the local block would land below the observed one
+                block.next = block.end;
+            }
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    private int reserve(TaskStatus status, int size) {
+        return requiresNew.execute(tx -> {
+            counterRepository.advance(status, size);
+            return counterRepository.findNextPosition(status).orElseThrow();
+        });
+    }
+
+    /** Catches the counter up with tasks created while another allocator was active. */
+    private void seed(TaskStatus status) {
+        requiresNew.executeWithoutResult(tx -> {
+            int floor = taskRepository.findMaxPositionByStatus(status) + 1;
+            if (counterRepository.findNextPosition(status).isEmpty()) {
+                counterRepository.saveAndFlush(PositionCounter.builder().status(status).nextPosition(floor).build());
+            } else {
+                counterRepository.raiseTo(status, floor);
+            }
+            log.debug("Seeded shared {} position counter at >= {}", status, floor);
+        });
+    }
+
+    /** Guarded by a ReentrantLock: reserve() runs JDBC while held, which would pin a virtual thread under synchronized. */
+    private static final class Block {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int next;
+        private int end;
+        private boolean seeded;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tm.api.service;
+
+import com.tm.api.dto.HistoryEntryDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the history listing: the (deletedAt, id) of the last entry a
+ * page returned. Opaque to clients, who only pass it back.
+ */
+record HistoryCursor(LocalDateTime deletedAt, UUID id) {
+
+    static HistoryCursor of(HistoryEntryDTO entry) {
+        return new HistoryCursor(entry.getDeletedAt(), entry.getId());
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((deletedAt + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null for the first page. */
+    static HistoryCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_", 2);
+            return new HistoryCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid history cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.tm.api.service;
+
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-instance allocator: each column is seeded from {@code MAX(position)}
+ * on first use, after which positions come from an in-memory counter. Use
+ * {@link DatabasePositionAllocator} when several API instances share a database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "tm.positions.allocator", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPositionAllocator implements PositionAllocator {
+
+    private final TaskRepository taskRepository;
+    private final Map<TaskStatus, AtomicInteger> nextPositions = new ConcurrentHashMap<>();
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    @Override
+    public int next(TaskStatus status) {
+        return counter(status).getAndIncrement();
+    }
+
+    @Override
+    public void observe(TaskStatus status, int position) {
+        counter(status).accumulateAndGet(position + 1, Math::max);
+    }
+
+    private AtomicInteger counter(TaskStatus status) {
+        AtomicInteger counter = nextPositions.get(status);
+        if (counter != null) {
+            return counter;
+        }
+        // Not computeIfAbsent: its bin lock would pin a virtual thread during the query
+        seedLock.lock();
+        try {
+            counter = nextPositions.get(status);
+            if (counter == null) {
+                int seed = taskRepository.findMaxPositionByStatus(status) + 1;
+                log.debug("Seeded {} positions at {}", status, seed);
+                counter = new AtomicInteger(seed);
+                nextPositions.put(status, counter);
+            }
+            return counter;
+        } finally {
+            seedLock.unlock();
+        }
+    }
+}
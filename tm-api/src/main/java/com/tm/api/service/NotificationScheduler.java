@@ -1,53 +1,77 @@
 package com.tm.api.service;
 
-import com.tm.api.model.Activity;
+import com.tm.api.event.OutboxWriter;
+import com.tm.api.event.ReminderSink;
+import com.tm.api.model.OutboxEventType;
+import com.tm.api.model.ReminderDelivery;
 import com.tm.api.model.Task;
+import com.tm.api.repository.ReminderDeliveryRepository;
 import com.tm.api.repository.TaskRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Fires due reminders: each one gets a REMINDER_TRIGGERED outbox event (activity
+ * entry) and a PENDING delivery per {@link ReminderSink}, all in one transaction.
+ * The delivery rows also mark the reminder as fired, so reminders missed while
+ * the API was down are still fired if they are at most {@code catch-up} old.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class NotificationScheduler {
 
     private final TaskRepository taskRepository;
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+    private final OutboxWriter outboxWriter;
+    private final List<ReminderSink> sinks;
+    private final Duration catchUp;
 
-    @Scheduled(fixedRate = 60000) // Every minute
+    public NotificationScheduler(TaskRepository taskRepository,
+            ReminderDeliveryRepository reminderDeliveryRepository,
+            OutboxWriter outboxWriter,
+            List<ReminderSink> sinks,
+            @Value("${tm.reminders.catch-up:PT15M}") Duration catchUp) {
+        this.taskRepository = taskRepository;
+        this.reminderDeliveryRepository = reminderDeliveryRepository;
+        this.outboxWriter = outboxWriter;
+        this.sinks = sinks;
+        this.catchUp = catchUp;
+    }
+
+    @Scheduled(fixedDelayString = "${tm.reminders.scan-interval:PT15S}")
     @Transactional
-    public void checkReminders() {
+    public int checkReminders() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime oneMinuteAgo = now.minusMinutes(1);
-
-        log.debug("Checking for reminders between {} and {}", oneMinuteAgo, now);
-
-        // Find tasks with reminders due in the last minute that haven't been completed
-        // This is a simplified version. In a real app, we'd track if a notification was
-        // already sent.
-        List<Task> tasksToNotify = taskRepository.findAll().stream()
-                .filter(t -> t.isReminderEnabled()
-                        && t.getReminderTime() != null
-                        && t.getReminderTime().isAfter(oneMinuteAgo)
-                        && t.getReminderTime().isBefore(now)
-                        && !t.getStatus().name().equals("DONE"))
-                .toList();
-
-        for (Task task : tasksToNotify) {
-            log.info("NOTIFICATION TRIGGERED for Task: {} ({})", task.getTitle(), task.getId());
-
-            task.getActivities().add(Activity.builder()
-                    .message("NOTIFICAÇÃO DISPARADA: Lembrete enviado ao usuário.")
-                    .task(task)
-                    .build());
-
-            // In a real application, we would send a WebSocket message or Push Notification
-            // here.
+        log.debug("Checking for reminders between {} and {}", now.minus(catchUp), now);
+
+        int fired = 0;
+        for (Task task : taskRepository.findRemindersDue(now.minus(catchUp), now)) {
+            if (reminderDeliveryRepository.existsByTaskIdAndReminderTime(task.getId(), task.getReminderTime())) {
+                continue;
+            }
+            log.info("Reminder fired for task {} ({})", task.getTitle(), task.getId());
+
+            outboxWriter.append(task.getId(), OutboxEventType.REMINDER_TRIGGERED,
+                    Map.of("title", task.getTitle(), "reminderTime", task.getReminderTime()));
+            reminderDeliveryRepository.saveAll(sinks.stream()
+                    .map(sink -> ReminderDelivery.builder()
+                            .taskId(task.getId())
+                            .reminderTime(task.getReminderTime())
+                            .title(task.getTitle())
+                            .sink(sink.name())
+                            .nextAttemptAt(now)
+                            .build())
+                    .toList());
+            fired++;
         }
+        return fired;
     }
 }
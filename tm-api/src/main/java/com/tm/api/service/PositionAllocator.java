@@ -0,0 +1,16 @@
+package com.tm.api.service;
+
+import com.tm.api.model.TaskStatus;
+
+/**
+ * Hands out board positions for new tasks so that concurrent creates in the
+ * same column never receive the same position.
+ */
+public interface PositionAllocator {
+
+    /** Returns a position not handed out before for this status. */
+    int next(TaskStatus status);
+
+    /** Records a position assigned explicitly so later allocations stay above it. */
+    void observe(TaskStatus status, int position);
+}
@@ -0,0 +1,100 @@
+package com.tm.api.service;
+
+import com.tm.api.dto.PurgeJobDTO;
+import com.tm.api.exception.TaskNotFoundException;
+import com.tm.api.model.PurgeJob;
+import com.tm.api.model.PurgeJobStatus;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.PurgeJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Queues permanent deletes of trashed tasks. The rows are removed later, in
+ * chunks, by {@link PurgeWorker}; tasks covered by an active job are hidden
+ * from the history right away.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurgeService {
+
+    static final Set<PurgeJobStatus> ACTIVE_STATUSES = Set.of(PurgeJobStatus.PENDING, PurgeJobStatus.RUNNING);
+
+    private final PurgeJobRepository purgeJobRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskArchiver taskArchiver;
+
+    @Transactional
+    public PurgeJobDTO purgeHistory() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        PurgeJob job = purgeJobRepository.save(PurgeJob.builder()
+                .cutoff(cutoff)
+                .totalTasks(archivedTaskRepository.countPurgeable(cutoff))
+                .build());
+        log.info("Queued history purge {} for {} tasks", job.getId(), job.getTotalTasks());
+        return toDTO(job);
+    }
+
+    @Transactional
+    public PurgeJobDTO purgeTask(UUID taskId) {
+        // The worker only removes archived rows, so move a live task to the archive first
+        if (!archivedTaskRepository.existsById(taskId) && !taskArchiver.archive(taskId)) {
+            throw new TaskNotFoundException("Task not found with id: " + taskId);
+        }
+        PurgeJob job = purgeJobRepository.save(PurgeJob.builder()
+                .taskId(taskId)
+                .totalTasks(1)
+                .build());
+        log.info("Queued purge {} for task {}", job.getId(), taskId);
+        return toDTO(job);
+    }
+
+    @Transactional(readOnly = true)
+    public PurgeJobDTO findJob(UUID id) {
+        return purgeJobRepository.findById(id)
+                .map(this::toDTO)
+                .orElseThrow(() -> new TaskNotFoundException("Purge job not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PurgeJobDTO> recentJobs(int limit) {
+        return purgeJobRepository.findRecent(PageRequest.of(0, limit)).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    private PurgeJobDTO toDTO(PurgeJob job) {
+        int percent;
+        if (job.getStatus() == PurgeJobStatus.COMPLETED) {
+            percent = 100;
+        } else if (job.getTotalTasks() == 0) {
+            percent = 0;
+        } else {
+            // Restored tasks are skipped, so only completion reports 100%
+            percent = Math.min(99, job.getPurgedTasks() * 100 / job.getTotalTasks());
+        }
+        return PurgeJobDTO.builder()
+                .id(job.getId())
+                .taskId(job.getTaskId())
+                .status(job.getStatus())
+                .totalTasks(job.getTotalTasks())
+                .purgedTasks(job.getPurgedTasks())
+                .purgedSubtasks(job.getPurgedSubtasks())
+                .purgedActivities(job.getPurgedActivities())
+                .percent(percent)
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .lastError(job.getLastError())
+                .build();
+    }
+}
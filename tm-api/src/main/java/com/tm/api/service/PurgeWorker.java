@@ -0,0 +1,143 @@
+package com.tm.api.service;
+
+import com.tm.api.model.PurgeJob;
+import com.tm.api.model.PurgeJobStatus;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.PurgeJobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executes purge jobs one chunk per tick. Each chunk deletes at most
+ * {@code chunk-size} tasks and {@code row-limit} child rows per table in its own
+ * short transaction, together with the job's progress counters, so a restart
+ * resumes from the last committed chunk. The tick interval is the throttle.
+ */
+@Slf4j
+@Component
+public class PurgeWorker {
+
+    private final PurgeJobRepository purgeJobRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TaskJsonCache taskJsonCache;
+    private final int chunkSize;
+    private final int rowLimit;
+    private final int maxFailures;
+    private final Map<UUID, Integer> failures = new ConcurrentHashMap<>();
+    private final ReentrantLock chunkLock = new ReentrantLock();
+
+    public PurgeWorker(PurgeJobRepository purgeJobRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            TaskJsonCache taskJsonCache,
+            @Value("${tm.purge.chunk-size:100}") int chunkSize,
+            @Value("${tm.purge.row-limit:1000}") int rowLimit,
+            @Value("${tm.purge.max-failures:5}") int maxFailures) {
+        this.purgeJobRepository = purgeJobRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.taskJsonCache = taskJsonCache;
+        this.chunkSize = chunkSize;
+        this.rowLimit = rowLimit;
+        this.maxFailures = maxFailures;
+    }
+
+    @Scheduled(fixedDelayString = "${tm.purge.interval:PT0.2S}")
+    public boolean runChunk() {
+        chunkLock.lock();
+        try {
+            List<PurgeJob> active = purgeJobRepository.findByStatusInOrderByIdAsc(PurgeService.ACTIVE_STATUSES);
+            if (active.isEmpty()) {
+                return false;
+            }
+            UUID jobId = active.get(0).getId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> purgeChunk(purgeJobRepository.getReferenceById(jobId)));
+                failures.remove(jobId);
+            } catch (Exception e) {
+                int attempts = failures.merge(jobId, 1, Integer::sum);
+                boolean giveUp = attempts >= maxFailures;
+                log.warn("Purge job {} chunk failed (attempt {}): {}", jobId, attempts, e.getMessage());
+                recordFailure(jobId, e, giveUp);
+                if (giveUp) {
+                    failures.remove(jobId);
+                }
+            }
+            return true;
+        } finally {
+            chunkLock.unlock();
+        }
+    }
+
+    private void purgeChunk(PurgeJob job) {
+        if (job.getStatus() == PurgeJobStatus.PENDING) {
+            job.setStatus(PurgeJobStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+        }
+
+        List<UUID> ids = job.getTaskId() != null
+                ? (archivedTaskRepository.existsById(job.getTaskId()) ? List.of(job.getTaskId()) : List.<UUID>of())
+                : archivedTaskRepository.findPurgeableIds(job.getCutoff(), PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            job.setStatus(PurgeJobStatus.COMPLETED);
+            job.setFinishedAt(LocalDateTime.now());
+            log.info("Purge job {} completed: {} tasks, {} subtasks, {} activities", job.getId(),
+                    job.getPurgedTasks(), job.getPurgedSubtasks(), job.getPurgedActivities());
+            return;
+        }
+
+        // Children first; a full chunk means more remain, so the tasks wait for the next tick
+        PageRequest rows = PageRequest.of(0, rowLimit);
+        int activities = deleteChildren(archivedTaskRepository.findActivityIds(ids, rows),
+                archivedTaskRepository::deleteActivitiesByIds);
+        int subtasks = activities < rowLimit ? deleteChildren(archivedTaskRepository.findSubtaskIds(ids, rows),
+                archivedTaskRepository::deleteSubtasksByIds) : 0;
+        int tasks = activities < rowLimit && subtasks < rowLimit ? archivedTaskRepository.deleteTasksByIds(ids) : 0;
+        if (tasks > 0) {
+            ids.forEach(taskJsonCache::evict);
+        }
+
+        job.setPurgedActivities(job.getPurgedActivities() + activities);
+        job.setPurgedSubtasks(job.getPurgedSubtasks() + subtasks);
+        job.setPurgedTasks(job.getPurgedTasks() + tasks);
+        job.setChunks(job.getChunks() + 1);
+
+        meterRegistry.counter("purge.rows", "table", "activities").increment(activities);
+        meterRegistry.counter("purge.rows", "table", "subtasks").increment(subtasks);
+        meterRegistry.counter("purge.rows", "table", "tasks").increment(tasks);
+    }
+
+    private int deleteChildren(List<UUID> ids, java.util.function.Consumer<List<UUID>> delete) {
+        if (!ids.isEmpty()) {
+            delete.accept(ids);
+        }
+        return ids.size();
+    }
+
+    private void recordFailure(UUID jobId, Exception e, boolean giveUp) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        transactionTemplate.executeWithoutResult(status -> purgeJobRepository.findById(jobId).ifPresent(job -> {
+            job.setLastError(error.length() > 500 ? error.substring(0, 500) : error);
+            if (giveUp) {
+                job.setStatus(PurgeJobStatus.FAILED);
+                job.setFinishedAt(LocalDateTime.now());
+            }
+        }));
+    }
+}
@@ -0,0 +1,95 @@
+package com.tm.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for identical concurrent reads: the first caller with a key
+ * runs the read, callers arriving while it runs wait for and share its result.
+ * Nothing is kept once the read finishes, and a read that started before a
+ * write committed is not joined by later callers, so a result is never older
+ * than the caller's own request. Callers must not modify the shared result.
+ * <p>
+ * Call it outside the read's transaction, so waiting callers hold no connection.
+ */
+@Component
+public class ReadCoalescer implements TransactionExecutionListener {
+
+    private final boolean enabled;
+    private final Map<Object, Flight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter leaders;
+    private final Counter followers;
+
+    public ReadCoalescer(MeterRegistry meterRegistry,
+            @Value("${tm.read-coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.leaders = meterRegistry.counter("tasks.read_coalescing.requests", "role", "leader");
+        this.followers = meterRegistry.counter("tasks.read_coalescing.requests", "role", "follower");
+        Gauge.builder("tasks.read_coalescing.ratio", this, ReadCoalescer::ratio)
+                .description("Share of reads served by another request's in-flight read")
+                .register(meterRegistry);
+        Gauge.builder("tasks.read_coalescing.in_flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    private record Flight(long generation, CompletableFuture<Object> result) {
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        long current = generation.get();
+        Flight own = new Flight(current, new CompletableFuture<>());
+        Flight flight = inFlight.compute(key,
+                (k, running) -> running != null && running.generation() == current ? running : own);
+        if (flight != own) {
+            followers.increment();
+            try {
+                return (T) flight.result().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            T result = read.get();
+            // Leave the map first: a caller arriving after the read finished must run its own
+            inFlight.remove(key, own);
+            own.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, own);
+            own.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** Committed writes start a new generation that no earlier in-flight read can serve. */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (!transaction.isReadOnly()) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private double ratio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+}
@@ -0,0 +1,136 @@
+package com.tm.api.service;
+
+import com.tm.api.event.ReminderNotification;
+import com.tm.api.event.ReminderSink;
+import com.tm.api.model.ReminderDelivery;
+import com.tm.api.model.ReminderDeliveryStatus;
+import com.tm.api.repository.ReminderDeliveryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends pending reminder deliveries to their sink, up to {@code batch-size}
+ * per sink call. A failed batch is retried after an exponential backoff
+ * (backoff, 2 x backoff, ... capped at max-backoff) and parked as FAILED
+ * after {@code max-attempts}. One sink failing does not hold up the others.
+ */
+@Slf4j
+@Component
+public class ReminderDispatcher {
+
+    private final ReminderDeliveryRepository reminderDeliveryRepository;
+    private final List<ReminderSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    public ReminderDispatcher(ReminderDeliveryRepository reminderDeliveryRepository,
+            List<ReminderSink> sinks,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${tm.reminders.batch-size:50}") int batchSize,
+            @Value("${tm.reminders.max-attempts:8}") int maxAttempts,
+            @Value("${tm.reminders.backoff:PT5S}") Duration backoff,
+            @Value("${tm.reminders.max-backoff:PT5M}") Duration maxBackoff,
+            @Value("${tm.reminders.retention:P7D}") Duration retention) {
+        this.reminderDeliveryRepository = reminderDeliveryRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        Gauge.builder("reminders.pending", reminderDeliveryRepository,
+                repository -> repository.countByStatus(ReminderDeliveryStatus.PENDING))
+                .register(meterRegistry);
+        Gauge.builder("reminders.failed", reminderDeliveryRepository,
+                repository -> repository.countByStatus(ReminderDeliveryStatus.FAILED))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tm.reminders.dispatch-interval:PT1S}")
+    public int dispatchPending() {
+        dispatchLock.lock();
+        try {
+            int delivered = 0;
+            for (ReminderSink sink : sinks) {
+                delivered += dispatch(sink);
+            }
+            return delivered;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tm.reminders.cleanup-interval:PT1H}")
+    public int purgeFinished() {
+        return reminderDeliveryRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private int dispatch(ReminderSink sink) {
+        int delivered = 0;
+        List<ReminderDelivery> batch;
+        do {
+            batch = reminderDeliveryRepository.findDue(sink.name(), LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            try {
+                sink.deliver(batch.stream().map(ReminderNotification::of).toList());
+            } catch (Exception e) {
+                recordFailure(sink, batch, e);
+                break;
+            }
+            reminderDeliveryRepository.markDelivered(batch.stream().map(ReminderDelivery::getId).toList(),
+                    LocalDateTime.now());
+            meterRegistry.counter("reminders.delivered", "sink", sink.name()).increment(batch.size());
+            meterRegistry.counter("reminders.batches", "sink", sink.name()).increment();
+            delivered += batch.size();
+        } while (batch.size() == batchSize);
+        return delivered;
+    }
+
+    private void recordFailure(ReminderSink sink, List<ReminderDelivery> batch, Exception e) {
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        String stored = error.length() > 500 ? error.substring(0, 500) : error;
+        LocalDateTime now = LocalDateTime.now();
+        long parked = batch.stream().filter(delivery -> delivery.getAttempts() + 1 >= maxAttempts).count();
+        transactionTemplate.executeWithoutResult(status -> batch.forEach(delivery -> {
+            int attempts = delivery.getAttempts() + 1;
+            reminderDeliveryRepository.recordFailure(delivery.getId(),
+                    attempts >= maxAttempts ? ReminderDeliveryStatus.FAILED : ReminderDeliveryStatus.PENDING,
+                    now.plus(backoffAfter(attempts)), stored);
+        }));
+        meterRegistry.counter("reminders.failures", "sink", sink.name()).increment();
+        if (parked > 0) {
+            log.error("{} reminder(s) for sink {} parked after {} attempts: {}", parked, sink.name(), maxAttempts, error);
+        } else {
+            log.warn("Delivery of {} reminder(s) to sink {} failed, will retry: {}", batch.size(), sink.name(), error);
+        }
+    }
+
+    private Duration backoffAfter(int attempts) {
+        Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,38 @@
+package com.tm.api.service;
+
+import com.tm.api.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the denormalized subtask counters on {@code tasks} from the
+ * {@code subtasks} table. Only rows that drifted are rewritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SubtaskCounterRepairJob {
+
+    private final TaskRepository taskRepository;
+    private final MeterRegistry meterRegistry;
+    private final TaskJsonCache taskJsonCache;
+
+    @Scheduled(initialDelayString = "${tm.subtask-counters.repair-initial-delay:PT30S}",
+            fixedDelayString = "${tm.subtask-counters.repair-interval:PT6H}")
+    @Transactional
+    public int repairCounters() {
+        int repaired = taskRepository.repairSubtaskCounters();
+        if (repaired > 0) {
+            log.warn("Repaired subtask counters for {} tasks", repaired);
+            taskJsonCache.evictAll();
+            meterRegistry.counter("tasks.subtask_counters.repaired").increment(repaired);
+        } else {
+            log.debug("Subtask counters are consistent");
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,65 @@
+package com.tm.api.service;
+
+import com.tm.api.repository.ArchivedTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Moves a task with its subtasks and activities between the live tables and
+ * the archive tables. Ids are preserved, so a restore is the exact inverse.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskArchiver {
+
+    /** Restore-all cutoff when no purge is pending: every archived task qualifies. */
+    static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ArchivedTaskRepository archiveRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean archive(UUID id) {
+        if (archiveRepository.archiveTask(id) == 0) {
+            return false;
+        }
+        archiveRepository.archiveSubtasks(id);
+        archiveRepository.archiveActivities(id);
+        archiveRepository.deleteLiveActivities(id);
+        archiveRepository.deleteLiveSubtasks(id);
+        archiveRepository.deleteLiveTask(id);
+        return true;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean restore(UUID id) {
+        if (archiveRepository.restoreTask(id) == 0) {
+            return false;
+        }
+        archiveRepository.restoreSubtasks(id);
+        archiveRepository.restoreActivities(id);
+        archiveRepository.deleteArchivedActivities(id);
+        archiveRepository.deleteArchivedSubtasks(id);
+        archiveRepository.deleteArchivedTask(id);
+        return true;
+    }
+
+    /** Restores every task archived after {@code after} with status DONE. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int restoreArchivedAfter(LocalDateTime after) {
+        int restored = archiveRepository.restoreTasksArchivedAfter(after);
+        archiveRepository.restoreSubtasksArchivedAfter(after);
+        archiveRepository.restoreActivitiesArchivedAfter(after);
+        archiveRepository.deleteActivitiesArchivedAfter(after);
+        archiveRepository.deleteSubtasksArchivedAfter(after);
+        archiveRepository.deleteTasksArchivedAfter(after);
+        log.info("Restored {} archived tasks", restored);
+        return restored;
+    }
+}
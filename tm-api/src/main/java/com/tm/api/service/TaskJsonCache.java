@@ -0,0 +1,107 @@
+package com.tm.api.service;
+
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.mapper.ActivityMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-serialized JSON for each task, so list and detail responses only run
+ * Jackson for tasks that changed. A fragment is reused only while the DTO still
+ * has the version it was written for; write paths also evict explicitly, after
+ * commit, so a concurrent read cannot put the old state back.
+ */
+@Component
+public class TaskJsonCache {
+
+    private final Map<UUID, Fragment> fragments = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+
+    public TaskJsonCache(MeterRegistry meterRegistry, @Value("${tm.json-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.hits = meterRegistry.counter("tasks.json_cache.hits");
+        this.misses = meterRegistry.counter("tasks.json_cache.misses");
+        this.bytesSaved = Counter.builder("tasks.json_cache.bytes_saved")
+                .description("Serialized bytes served from the cache instead of Jackson")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("tasks.json_cache.size", fragments, Map::size).register(meterRegistry);
+        Gauge.builder("tasks.json_cache.hit_ratio", this, TaskJsonCache::hitRatio).register(meterRegistry);
+    }
+
+    /** Cached JSON for the task, or null when it is missing or was written for another version. */
+    public String lookup(TaskDTO task) {
+        Fragment fragment = fragments.get(task.getId());
+        if (fragment == null || !fragment.version().equals(Version.of(task))) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        bytesSaved.increment(fragment.json().length());
+        return fragment.json();
+    }
+
+    public void store(TaskDTO task, String json) {
+        // Full cache: new fragments are skipped until writes or purges make room
+        if (fragments.size() < maxEntries || fragments.containsKey(task.getId())) {
+            fragments.put(task.getId(), new Fragment(Version.of(task), json));
+        }
+    }
+
+    public void evict(UUID id) {
+        fragments.remove(id);
+        afterCompletion(() -> fragments.remove(id));
+    }
+
+    public void evictAll() {
+        fragments.clear();
+        afterCompletion(fragments::clear);
+    }
+
+    private void afterCompletion(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record Fragment(Version version, String json) {
+    }
+
+    /**
+     * Everything that changes the JSON without a write: overdue flips with the
+     * clock, activities are projected asynchronously without touching updatedAt
+     * (list entries, which have none, count as -1), and activity messages are
+     * rendered in the request's language.
+     */
+    private record Version(LocalDateTime updatedAt, boolean overdue, int activities, String language) {
+        static Version of(TaskDTO task) {
+            return new Version(task.getUpdatedAt(), task.isOverdue(),
+                    task.getActivities() == null ? -1 : task.getActivities().size(),
+                    ActivityMessages.currentLocale().getLanguage());
+        }
+    }
+}
@@ -1,17 +1,30 @@
 package com.tm.api.service;
 
+import com.tm.api.dto.CalendarDayDTO;
+import com.tm.api.dto.CalendarEntryDTO;
+import com.tm.api.dto.HistoryEntryDTO;
+import com.tm.api.dto.HistoryPageDTO;
 import com.tm.api.dto.TaskDTO;
 import com.tm.api.exception.TaskNotFoundException;
+import com.tm.api.exception.TaskPurgeQueuedException;
 import com.tm.api.mapper.TaskMapper;
+import com.tm.api.model.Priority;
+import com.tm.api.model.PurgeJob;
+import com.tm.api.model.RecurrenceRule;
 import com.tm.api.model.Subtask;
 import com.tm.api.model.Task;
 import com.tm.api.model.TaskStatus;
 import com.tm.api.event.TaskAuditEvent;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.DueDayCount;
+import com.tm.api.repository.PurgeJobRepository;
 import com.tm.api.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +32,9 @@ import io.micrometer.core.instrument.MeterRegistry;
 
 import java.util.List;
 import java.util.Map;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,18 +47,213 @@ public class TaskService {
     private final ApplicationEventPublisher eventPublisher;
     private final MeterRegistry meterRegistry;
     private final TaskMapper taskMapper;
+    private final PositionAllocator positionAllocator;
+    private final PurgeJobRepository purgeJobRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskArchiver taskArchiver;
+    private final TaskJsonCache taskJsonCache;
 
+    @Transactional(readOnly = true)
     public Page<TaskDTO> findAll(TaskStatus status, Pageable pageable) {
-        log.info("Fetching paginated tasks with status: {}", status != null ? status : "ALL");
+        log.debug("Fetching paginated tasks with status: {}", status != null ? status : "ALL");
         Page<Task> tasks;
         if (status != null) {
             tasks = taskRepository.findByStatus(status, pageable);
         } else {
             tasks = taskRepository.findAll(pageable);
         }
-        return tasks.map(taskMapper::toDTO);
+        return tasks.map(taskMapper::toListDTO);
     }
 
+    /** Virtual occurrences generated per recurring series and request. */
+    static final int MAX_OCCURRENCES_PER_SERIES = 1000;
+
+    /**
+     * Due-date window listing pushed down to SQL. Overdue and "due soon" only
+     * consider open tasks; explicit bounds are combined with them. Windows with
+     * an upper bound also list the future occurrences of recurring tasks as
+     * virtual TODO entries (no id, occurrenceOf set), generated from the rules.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskDTO> findByDueWindow(TaskStatus status, boolean overdue, LocalDateTime dueAfter,
+            LocalDateTime dueBefore, Integer dueWithinHours, Pageable pageable) {
+        log.debug("Fetching tasks by due window (status: {}, overdue: {}, after: {}, before: {}, within: {}h)",
+                status != null ? status : "ALL", overdue, dueAfter, dueBefore, dueWithinHours);
+        if (dueWithinHours != null && dueWithinHours <= 0) {
+            throw new IllegalArgumentException("dueWithinHours must be positive");
+        }
+
+        boolean openOnly = overdue || dueWithinHours != null;
+        List<TaskStatus> statuses = java.util.Arrays.stream(TaskStatus.values())
+                .filter(s -> status == null || s == status)
+                .filter(s -> !openOnly || s != TaskStatus.DONE)
+                .toList();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime after = dueAfter;
+        LocalDateTime before = dueBefore;
+        if (overdue) {
+            before = earliest(before, now);
+        }
+        if (dueWithinHours != null) {
+            after = latest(after, now);
+            before = earliest(before, now.plusHours(dueWithinHours));
+        }
+
+        if (statuses.isEmpty() || (after != null && before != null && !after.isBefore(before))) {
+            return Page.empty(pageable);
+        }
+
+        Pageable head = pageable.isPaged()
+                ? PageRequest.of(0, (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize()))
+                : Pageable.unpaged();
+        List<Occurrence> occurrences = statuses.contains(TaskStatus.TODO) && before != null
+                ? virtualOccurrences(latest(after, now), before)
+                : List.of();
+
+        if (statuses.size() == 1 && occurrences.isEmpty()) {
+            return findDueWindow(statuses.get(0), after, before, pageable).map(taskMapper::toListDTO);
+        }
+
+        // Each status is its own index range scan; merge the per-status heads by due date
+        List<Task> merged = new java.util.ArrayList<>();
+        long total = occurrences.size();
+        for (TaskStatus s : statuses) {
+            Page<Task> page = findDueWindow(s, after, before, head);
+            merged.addAll(page.getContent());
+            total += page.getTotalElements();
+        }
+        occurrences.stream()
+                .limit(head.isPaged() ? head.getPageSize() : Long.MAX_VALUE)
+                .map(occurrence -> occurrence.series().virtualOccurrence(occurrence.dueDate()))
+                .forEach(merged::add);
+        merged.sort(java.util.Comparator.comparing(Task::getDueDate)
+                .thenComparing(t -> t.getId() != null ? t.getId() : t.getOccurrenceOf()));
+
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), merged.size()) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), merged.size()) : merged.size();
+        List<TaskDTO> content = merged.subList(from, to).stream().map(taskMapper::toListDTO).toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private record Occurrence(Task series, LocalDateTime dueDate) {
+    }
+
+    /**
+     * Occurrences in [from, before) of every open recurring series, earliest
+     * first. Only one row per series is read, whatever the window length.
+     */
+    private List<Occurrence> virtualOccurrences(LocalDateTime from, LocalDateTime before) {
+        if (!from.isBefore(before)) {
+            return List.of();
+        }
+        List<Occurrence> occurrences = new java.util.ArrayList<>();
+        for (Task series : taskRepository.findOpenRecurringDueBefore(before)) {
+            RecurrenceRule.parse(series.getRecurrenceRule())
+                    .occurrences(series.getDueDate(), from, before, MAX_OCCURRENCES_PER_SERIES)
+                    .forEach(due -> occurrences.add(new Occurrence(series, due)));
+        }
+        occurrences.sort(java.util.Comparator.comparing(Occurrence::dueDate));
+        return occurrences;
+    }
+
+    private Page<Task> findDueWindow(TaskStatus status, LocalDateTime after, LocalDateTime before, Pageable pageable) {
+        if (after != null && before != null) {
+            return taskRepository.findDueBetween(status, after, before, pageable);
+        }
+        if (before != null) {
+            return taskRepository.findDueBefore(status, before, pageable);
+        }
+        return taskRepository.findDueAfter(status, after, pageable);
+    }
+
+    /** Longest range, in days, the calendar aggregates in one request. */
+    static final int MAX_CALENDAR_DAYS = 366;
+
+    /**
+     * Task counts by status and priority for each day from {@code from} to
+     * {@code to}, both inclusive, from one grouped query over the due-date
+     * index. Upcoming occurrences of recurring tasks count as TODO, as in the
+     * due-window listing. Days without tasks are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarDayDTO> getCalendar(LocalDate from, LocalDate to) {
+        log.debug("Fetching task calendar from {} to {}", from, to);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Calendar range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("Calendar range must not exceed " + MAX_CALENDAR_DAYS + " days");
+        }
+        LocalDateTime after = from.atStartOfDay();
+        LocalDateTime before = to.plusDays(1).atStartOfDay();
+
+        Map<LocalDate, CalendarDayDTO> days = new java.util.TreeMap<>();
+        for (DueDayCount row : taskRepository.countByDueDay(after, before)) {
+            addToDay(days, row.day(), row.status(), row.priority(), row.count());
+        }
+        for (Occurrence occurrence : virtualOccurrences(latest(after, LocalDateTime.now()), before)) {
+            addToDay(days, occurrence.dueDate().toLocalDate(), TaskStatus.TODO, occurrence.series().getPriority(), 1);
+        }
+        return List.copyOf(days.values());
+    }
+
+    private static void addToDay(Map<LocalDate, CalendarDayDTO> days, LocalDate day, TaskStatus status,
+            Priority priority, long count) {
+        CalendarDayDTO entry = days.computeIfAbsent(day, d -> CalendarDayDTO.builder()
+                .date(d)
+                .byStatus(new java.util.EnumMap<>(TaskStatus.class))
+                .byPriority(new java.util.EnumMap<>(Priority.class))
+                .build());
+        entry.setTotal(entry.getTotal() + count);
+        entry.getByStatus().merge(status, count, Long::sum);
+        entry.getByPriority().merge(priority, count, Long::sum);
+    }
+
+    /**
+     * Drill-down for one calendar day: the first {@code limit} tasks due that
+     * day, earliest first, as a slim projection. The day's total in
+     * {@link #getCalendar} tells whether the list was cut.
+     */
+    @Transactional(readOnly = true)
+    public List<CalendarEntryDTO> getCalendarDay(LocalDate day, int limit) {
+        log.debug("Fetching tasks due on {} (limit: {})", day, limit);
+        LocalDateTime after = day.atStartOfDay();
+        LocalDateTime before = day.plusDays(1).atStartOfDay();
+
+        List<CalendarEntryDTO> entries = new java.util.ArrayList<>(
+                taskRepository.findCalendarEntries(after, before, PageRequest.of(0, limit)));
+        virtualOccurrences(latest(after, LocalDateTime.now()), before).stream()
+                .limit(limit)
+                .map(occurrence -> toCalendarEntry(occurrence.series().virtualOccurrence(occurrence.dueDate())))
+                .forEach(entries::add);
+        entries.sort(java.util.Comparator.comparing(CalendarEntryDTO::getDueDate)
+                .thenComparing(e -> e.getId() != null ? e.getId() : e.getOccurrenceOf()));
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    private static CalendarEntryDTO toCalendarEntry(Task occurrence) {
+        return CalendarEntryDTO.builder()
+                .title(occurrence.getTitle())
+                .status(occurrence.getStatus())
+                .priority(occurrence.getPriority())
+                .dueDate(occurrence.getDueDate())
+                .important(occurrence.getImportant())
+                .subtaskTotal(occurrence.getSubtaskTotal())
+                .subtaskCompleted(0)
+                .occurrenceOf(occurrence.getOccurrenceOf())
+                .build();
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isBefore(a) ? b : a;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+
+    @Transactional(readOnly = true)
     public TaskDTO findById(UUID id) {
         log.debug("Finding task by id: {}", id);
         return taskRepository.findById(id)
@@ -53,8 +263,13 @@ public class TaskService {
 
     @Transactional
     public TaskDTO create(TaskDTO dto) {
-        int nextPosition = dto.getPosition() != null ? dto.getPosition()
-                : taskRepository.findMaxPositionByStatus(dto.getStatus()) + 1;
+        int nextPosition;
+        if (dto.getPosition() != null) {
+            nextPosition = dto.getPosition();
+            positionAllocator.observe(dto.getStatus(), nextPosition);
+        } else {
+            nextPosition = positionAllocator.next(dto.getStatus());
+        }
 
         Task task = Task.builder()
                 .title(dto.getTitle())
@@ -66,6 +281,7 @@ public class TaskService {
                 .important(dto.getImportant() != null ? dto.getImportant() : false)
                 .reminderEnabled(dto.getReminderEnabled() != null ? dto.getReminderEnabled() : false)
                 .reminderTime(dto.getReminderTime())
+                .recurrenceRule(RecurrenceRule.normalize(dto.getRecurrenceRule()))
                 .build();
 
         if (dto.getStatus() == TaskStatus.DONE) {
@@ -82,6 +298,7 @@ public class TaskService {
                     .collect(Collectors.toList());
             task.setSubtasks(subtasks);
         }
+        task.refreshSubtaskCounters();
 
         Task savedTask = taskRepository.save(task);
         eventPublisher
@@ -144,9 +361,20 @@ public class TaskService {
             task.setReminderTime(dto.getReminderTime());
         }
 
+        if (dto.getRecurrenceRule() != null) {
+            String rule = RecurrenceRule.normalize(dto.getRecurrenceRule());
+            if (!java.util.Objects.equals(rule, task.getRecurrenceRule())) {
+                oldValues.put("recorrência", task.getRecurrenceRule());
+                task.setRecurrenceRule(rule);
+                newValues.put("recorrência", rule);
+            }
+        }
+
         if (dto.getStatus() != null && oldStatus != dto.getStatus()) {
             oldValues.put("status", oldStatus);
-            task.transitionTo(dto.getStatus());
+            task.transitionTo(dto.getStatus()).ifPresent(this::createOccurrence);
+            // The task keeps its position; tasks created in the new column must land after it
+            positionAllocator.observe(task.getStatus(), task.getPosition());
             newValues.put("status", task.getStatus());
         }
 
@@ -229,9 +457,11 @@ public class TaskService {
 
             task.getSubtasks().clear();
             task.getSubtasks().addAll(finalizedSubtasks);
+            task.refreshSubtaskCounters();
         }
 
         Task savedTask = taskRepository.save(task);
+        taskJsonCache.evict(id);
 
         if (!newValues.isEmpty()) {
             eventPublisher.publishEvent(new TaskAuditEvent(this, savedTask, oldValues, newValues));
@@ -244,13 +474,23 @@ public class TaskService {
         return taskMapper.toDTO(savedTask);
     }
 
+    /** Saves the next occurrence of a recurring task that was just completed. */
+    private void createOccurrence(Task next) {
+        next.setPosition(positionAllocator.next(next.getStatus()));
+        Task saved = taskRepository.save(next);
+        eventPublisher.publishEvent(new TaskAuditEvent(this, saved, Map.of(), Map.of("status", saved.getStatus())));
+        meterRegistry.counter("tasks.created").increment();
+        meterRegistry.counter("tasks.occurrences.created").increment();
+    }
+
     @Transactional
     public void delete(UUID id) {
         log.info("Deleting task id: {}", id);
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + id));
 
-        taskRepository.deleteById(id);
+        taskArchiver.archive(id);
+        taskJsonCache.evict(id);
 
         // Publish event for activity log
         eventPublisher.publishEvent(new TaskAuditEvent(this, task,
@@ -262,14 +502,24 @@ public class TaskService {
     @Transactional
     public TaskDTO restore(UUID id) {
         log.info("Restoring task id: {}", id);
-        int updated = taskRepository.restoreByIdNative(id);
-        if (updated == 0) {
+        // A queued purge would find nothing to remove and report success for a task that is live again
+        List<PurgeJob> purging = activePurgeJobs();
+        boolean queued = purging.stream().anyMatch(job -> id.equals(job.getTaskId()))
+                || archivedTaskRepository.findById(id)
+                        .filter(archived -> !archived.getDeletedAt().isAfter(purgeCutoff(purging)))
+                        .isPresent();
+        if (queued) {
+            throw new TaskPurgeQueuedException("Task " + id + " is queued for permanent deletion");
+        }
+        if (!taskArchiver.restore(id)) {
             throw new TaskNotFoundException("Could not restore task with id: " + id);
         }
+        taskJsonCache.evict(id);
 
         // Load the recently restored entity
-        Task restoredTask = taskRepository.findByIdIncludeDeleted(id)
+        Task restoredTask = taskRepository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException("Task restored but not found: " + id));
+        positionAllocator.observe(restoredTask.getStatus(), restoredTask.getPosition());
 
         // Publish event for activity log
         eventPublisher.publishEvent(new TaskAuditEvent(this, restoredTask,
@@ -278,36 +528,34 @@ public class TaskService {
         return taskMapper.toDTO(restoredTask);
     }
 
-    public List<TaskDTO> getHistory() {
-        log.info("Fetching deleted tasks history");
-        return taskRepository.findAllDeletedNative().stream()
-                .map(taskMapper::toDTO)
-                .collect(Collectors.toList());
-    }
-
-    @Transactional
-    public void hardDelete(UUID id) {
-        log.info("Permanently deleting task id: {}", id);
-        // Manual Cascade for Native Delete
-        try {
-            // Check if table exists/handle safe delete if needed, but simple DELETE is
-            // usually fine
-            // Assuming notifications table check isn't needed if not present, but good to
-            // add if schema has it
-            // taskRepository.deleteNotificationsNative(id);
-
-            taskRepository.deleteActivitiesNative(id);
-            taskRepository.deleteSubtasksNative(id);
-            taskRepository.deletePermanentlyNative(id);
-        } catch (Exception e) {
-            log.error("Failed to hard delete task {}", id, e);
-            throw e;
-        }
+    /**
+     * One page of the trash, newest deletion first, as slim projections. Pages
+     * continue from the cursor's (deletedAt, id) position, so later pages cost
+     * the same as the first and are stable while tasks are trashed or restored.
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDTO getHistory(String cursor, int limit) {
+        log.debug("Fetching deleted tasks history (limit: {})", limit);
+        // Tasks queued for purge are excluded by the queries, so every page is full until the last one
+        LocalDateTime hiddenUpTo = purgeCutoff(activePurgeJobs());
+        HistoryCursor after = HistoryCursor.decode(cursor);
+        Pageable window = PageRequest.of(0, limit + 1);
+        List<HistoryEntryDTO> rows = after == null
+                ? archivedTaskRepository.findHistoryHead(hiddenUpTo, window)
+                : archivedTaskRepository.findHistoryAfter(hiddenUpTo, after.deletedAt(), after.id(), window);
+
+        boolean more = rows.size() > limit;
+        List<HistoryEntryDTO> page = more ? rows.subList(0, limit) : rows;
+        return HistoryPageDTO.builder()
+                .items(page)
+                .nextCursor(more ? HistoryCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
     @Transactional
     public void updatePositions(List<Map<String, Object>> taskPositions) {
         log.info("Updating bulk task positions");
+        Map<TaskStatus, Integer> highest = new java.util.EnumMap<>(TaskStatus.class);
         for (Map<String, Object> update : taskPositions) {
             try {
                 UUID id = UUID.fromString(update.get("id").toString());
@@ -315,11 +563,15 @@ public class TaskService {
                 taskRepository.findById(id).ifPresent(t -> {
                     t.setPosition(position);
                     taskRepository.save(t);
+                    taskJsonCache.evict(id);
+                    highest.merge(t.getStatus(), position, Math::max);
                 });
             } catch (Exception e) {
                 log.error("Failed to update position for task", e);
             }
         }
+        // Once per column rather than per task: the shared counter takes its own transaction
+        highest.forEach(positionAllocator::observe);
     }
 
     // Event-driven auditing replaces direct repository calls
@@ -327,32 +579,26 @@ public class TaskService {
     @Transactional
     public void restoreAllHistory() {
         log.info("Restoring all deleted tasks history");
-        taskRepository.restoreAllDeletedNative();
-    }
-
-    @Transactional
-    public void clearHistory() {
-        log.info("Clearing all deleted tasks history permanently");
-        // Cascade delete for all deleted tasks
-        try {
-            taskRepository.deleteAllDeletedActivitiesNative();
-            taskRepository.deleteAllDeletedSubtasksNative();
-            taskRepository.deleteAllDeletedNative();
-        } catch (Exception e) {
-            log.error("Failed to clear history", e);
-            throw e;
+        // Tasks already queued for a history purge or a permanent delete stay queued
+        if (taskArchiver.restoreArchivedAfter(purgeCutoff(activePurgeJobs())) > 0) {
+            // Restored tasks keep their positions in the DONE column
+            positionAllocator.observe(TaskStatus.DONE, taskRepository.findMaxPositionByStatus(TaskStatus.DONE));
         }
+        taskJsonCache.evictAll();
     }
 
     @Transactional
     public void bulkUpdateStatus(List<UUID> ids, TaskStatus status) {
         log.info("Bulk updating status for {} tasks to {}", ids.size(), status);
+        int[] highest = {-1};
         for (UUID id : ids) {
             taskRepository.findById(id).ifPresent(task -> {
                 TaskStatus oldStatus = task.getStatus();
                 if (oldStatus != status) {
-                    task.transitionTo(status);
+                    task.transitionTo(status).ifPresent(this::createOccurrence);
+                    highest[0] = Math.max(highest[0], task.getPosition());
                     taskRepository.save(task);
+                    taskJsonCache.evict(id);
                     eventPublisher.publishEvent(new TaskAuditEvent(this, task,
                             Map.of("status", oldStatus), Map.of("status", status)));
                     if (status == TaskStatus.DONE) {
@@ -361,5 +607,21 @@ public class TaskService {
                 }
             });
         }
+        if (highest[0] >= 0) {
+            positionAllocator.observe(status, highest[0]);
+        }
+    }
+
+    private List<PurgeJob> activePurgeJobs() {
+        return purgeJobRepository.findByStatusInOrderByIdAsc(PurgeService.ACTIVE_STATUSES);
+    }
+
+    /** Tasks trashed up to this instant belong to a pending history clear. */
+    private static LocalDateTime purgeCutoff(List<PurgeJob> purging) {
+        return purging.stream()
+                .filter(job -> job.getTaskId() == null)
+                .map(PurgeJob::getCutoff)
+                .max(LocalDateTime::compareTo)
+                .orElse(TaskArchiver.BEGINNING);
     }
 }
@@ -0,0 +1,213 @@
+package com.tm.api.service;
+
+import com.tm.api.dto.TaskDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Opt-in merging of rapid successive edits to one task. The first edit opens a
+ * batch and waits for the window; edits arriving meanwhile are folded into it,
+ * later non-null fields winning. The batch is then written with a single
+ * {@link TaskService#update}, so the diff and its activity run from the state
+ * before the first edit to the state after the last one, and every caller in
+ * the batch gets that same result or error.
+ * <p>
+ * At most {@code max-pending} tasks have an open batch; edits beyond that are
+ * written directly. On shutdown open batches are flushed at once and later
+ * edits are written directly.
+ */
+@Slf4j
+@Component
+public class TaskUpdateCoalescer implements SmartLifecycle {
+
+    private final TaskService taskService;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxPending;
+
+    private final Map<UUID, Batch> pending = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private final Counter edits;
+    private final Counter writes;
+    private final Counter bypassed;
+
+    public TaskUpdateCoalescer(TaskService taskService, MeterRegistry meterRegistry,
+            @Value("${tm.write-coalescing.enabled:false}") boolean enabled,
+            @Value("${tm.write-coalescing.window:PT0.3S}") Duration window,
+            @Value("${tm.write-coalescing.max-pending:1000}") int maxPending) {
+        this.taskService = taskService;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxPending = maxPending;
+        this.edits = meterRegistry.counter("tasks.write_coalescing.edits");
+        this.writes = meterRegistry.counter("tasks.write_coalescing.writes");
+        this.bypassed = meterRegistry.counter("tasks.write_coalescing.bypassed");
+        Gauge.builder("tasks.write_coalescing.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /** Edits of one task that will be written together. Guarded by the map's per-key lock. */
+    private static final class Batch {
+        private TaskDTO merged;
+        private boolean closed;
+        private final CountDownLatch flushNow = new CountDownLatch(1);
+        private final CompletableFuture<TaskDTO> result = new CompletableFuture<>();
+
+        Batch(TaskDTO first) {
+            this.merged = copy(first);
+        }
+    }
+
+    public TaskDTO update(UUID id, TaskDTO dto) {
+        if (!enabled || !running) {
+            return taskService.update(id, dto);
+        }
+        Batch[] opened = new Batch[1];
+        Batch batch = pending.compute(id, (key, open) -> {
+            if (open != null && !open.closed) {
+                merge(open.merged, dto);
+                return open;
+            }
+            if (pending.size() >= maxPending) {
+                return null;
+            }
+            opened[0] = new Batch(dto);
+            return opened[0];
+        });
+        if (batch == null) {
+            bypassed.increment();
+            return taskService.update(id, dto);
+        }
+        edits.increment();
+        if (opened[0] == null) {
+            return await(batch);
+        }
+        return flush(id, batch);
+    }
+
+    private TaskDTO flush(UUID id, Batch batch) {
+        try {
+            batch.flushNow.await(window.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.compute(id, (key, open) -> {
+            batch.closed = true;
+            return open == batch ? null : open;
+        });
+        // No edit can join any more, so merged is final
+        try {
+            TaskDTO saved = taskService.update(id, batch.merged);
+            writes.increment();
+            batch.result.complete(saved);
+            return saved;
+        } catch (RuntimeException | Error e) {
+            batch.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static TaskDTO await(Batch batch) {
+        try {
+            return batch.result.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /** Later non-null fields win; the subtask list is replaced as a whole, as a single update would. */
+    private static void merge(TaskDTO into, TaskDTO edit) {
+        if (edit.getTitle() != null) {
+            into.setTitle(edit.getTitle());
+        }
+        if (edit.getDescription() != null) {
+            into.setDescription(edit.getDescription());
+        }
+        if (edit.getStatus() != null) {
+            into.setStatus(edit.getStatus());
+        }
+        if (edit.getPriority() != null) {
+            into.setPriority(edit.getPriority());
+        }
+        if (edit.getDueDate() != null) {
+            into.setDueDate(edit.getDueDate());
+        }
+        if (edit.getImportant() != null) {
+            into.setImportant(edit.getImportant());
+        }
+        if (edit.getReminderEnabled() != null) {
+            into.setReminderEnabled(edit.getReminderEnabled());
+        }
+        if (edit.getReminderTime() != null) {
+            into.setReminderTime(edit.getReminderTime());
+        }
+        if (edit.getRecurrenceRule() != null) {
+            into.setRecurrenceRule(edit.getRecurrenceRule());
+        }
+        if (edit.getSubtasks() != null) {
+            into.setSubtasks(List.copyOf(edit.getSubtasks()));
+        }
+    }
+
+    private static TaskDTO copy(TaskDTO edit) {
+        TaskDTO copy = new TaskDTO();
+        copy.setSubtasks(null);
+        merge(copy, edit);
+        return copy;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** Runs before the web server's graceful shutdown, so waiting requests still get their response. */
+    @Override
+    public void stop() {
+        running = false;
+        List<Batch> open = List.copyOf(pending.values());
+        if (open.isEmpty()) {
+            return;
+        }
+        log.info("Flushing {} coalesced task update(s) before shutdown", open.size());
+        open.forEach(batch -> batch.flushNow.countDown());
+        for (Batch batch : open) {
+            try {
+                batch.result.get(10, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Coalesced task update did not finish before shutdown");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // the caller that flushed the batch got the error
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,5 @@
+-- Calendar aggregates: WHERE due_date >= ? AND due_date < ? GROUP BY day, status, priority.
+-- With status and priority in the index the grouping reads no table rows. It
+-- supersedes idx_tasks_due_date, whose column it starts with.
+CREATE INDEX idx_tasks_due_status_priority ON tasks (due_date, status, priority);
+DROP INDEX IF EXISTS idx_tasks_due_date;
@@ -0,0 +1,3 @@
+-- Nothing filters or sorts the archive by completed_at: history pages and purge
+-- cutoffs go through idx_tasks_archive_deleted_at, restores through the primary key.
+DROP INDEX IF EXISTS idx_tasks_archive_completed_at;
@@ -0,0 +1,10 @@
+-- Denormalized checklist counters on tasks. Not part of the V1 baseline, so
+-- databases baselined from the old ddl-auto=update schema receive them here.
+-- IF NOT EXISTS covers databases where ddl-auto already added them.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS subtask_total INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS subtask_completed INTEGER DEFAULT 0 NOT NULL;
+
+-- Backfill from the checklists, as the counter repair job does
+UPDATE tasks t SET
+    subtask_total = (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id),
+    subtask_completed = (SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id AND s.completed = true);
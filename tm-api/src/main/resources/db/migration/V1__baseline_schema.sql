@@ -0,0 +1,44 @@
+-- Baseline: the schema previously produced by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE tasks (
+    id               UUID         NOT NULL,
+    title            VARCHAR(255) NOT NULL,
+    position         INTEGER,
+    description      TEXT,
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'DOING', 'DONE')),
+    priority         VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    due_date         TIMESTAMP(6) NOT NULL,
+    important        BOOLEAN,
+    reminder_enabled BOOLEAN,
+    reminder_time    TIMESTAMP(6),
+    created_at       TIMESTAMP(6),
+    updated_at       TIMESTAMP(6),
+    completed_at     TIMESTAMP(6),
+    deleted          BOOLEAN,
+    deleted_at       TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE subtasks (
+    id           UUID         NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    completed    BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    task_id      UUID,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subtasks_task FOREIGN KEY (task_id) REFERENCES tasks (id)
+);
+
+CREATE TABLE activities (
+    id         UUID         NOT NULL,
+    message    VARCHAR(255) NOT NULL,
+    field_name VARCHAR(255),
+    old_val    TEXT,
+    new_val    TEXT,
+    timestamp  TIMESTAMP(6),
+    task_id    UUID,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_activities_task FOREIGN KEY (task_id) REFERENCES tasks (id)
+);
@@ -0,0 +1,17 @@
+-- Indexes for the hot query paths. IF NOT EXISTS covers databases where
+-- ddl-auto already created idx_tasks_deleted_status_due.
+
+-- Board columns: WHERE deleted = false AND status = ? ORDER BY position
+CREATE INDEX IF NOT EXISTS idx_tasks_deleted_status_position ON tasks (deleted, status, position);
+
+-- Overdue and due-range windows: WHERE deleted = false AND status = ? AND due_date < ?
+CREATE INDEX IF NOT EXISTS idx_tasks_deleted_status_due ON tasks (deleted, status, due_date);
+
+-- Calendar-style lookups on due date regardless of status
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+
+-- Timeline: WHERE task_id = ? ORDER BY timestamp DESC
+CREATE INDEX IF NOT EXISTS idx_activities_task_timestamp ON activities (task_id, timestamp);
+
+-- Checklist loads and cascades
+CREATE INDEX IF NOT EXISTS idx_subtasks_task ON subtasks (task_id);
@@ -0,0 +1,20 @@
+-- Transactional outbox: written in the same transaction as the task change,
+-- drained by OutboxRelay into activities, the SSE stream and reminders.
+CREATE TABLE outbox_events (
+    id           UUID         NOT NULL,
+    task_id      UUID         NOT NULL,
+    event_type   VARCHAR(40)  NOT NULL,
+    payload      TEXT,
+    created_at   TIMESTAMP(6),
+    processed_at TIMESTAMP(6),
+    attempts     INTEGER DEFAULT 0 NOT NULL,
+    last_error   VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- Relay scan: WHERE processed_at IS NULL ORDER BY id (ids are time-ordered)
+CREATE INDEX idx_outbox_events_pending ON outbox_events (processed_at, id);
+
+-- Idempotent projection: activities remember the outbox event they came from
+ALTER TABLE activities ADD COLUMN event_id UUID;
+CREATE INDEX idx_activities_event ON activities (event_id);
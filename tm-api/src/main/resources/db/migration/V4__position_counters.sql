@@ -0,0 +1,11 @@
+-- Per-column position counters for DatabasePositionAllocator (multi-instance
+-- deployments). next_position is the first position not yet handed out.
+CREATE TABLE position_counters (
+    status        VARCHAR(255) NOT NULL,
+    next_position INTEGER      NOT NULL,
+    PRIMARY KEY (status)
+);
+
+INSERT INTO position_counters (status, next_position)
+SELECT s.status, COALESCE((SELECT MAX(t.position) FROM tasks t WHERE t.status = s.status), -1) + 1
+FROM (VALUES ('TODO'), ('DOING'), ('DONE')) AS s(status);
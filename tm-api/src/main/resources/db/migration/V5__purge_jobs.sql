@@ -0,0 +1,24 @@
+-- Background purge of trashed tasks. Progress counters are committed with each
+-- chunk, so a job picked up again after a restart continues where it stopped.
+CREATE TABLE purge_jobs (
+    id                UUID         NOT NULL,
+    task_id           UUID,
+    cutoff            TIMESTAMP(6),
+    status            VARCHAR(20)  NOT NULL,
+    total_tasks       INTEGER DEFAULT 0 NOT NULL,
+    purged_tasks      INTEGER DEFAULT 0 NOT NULL,
+    purged_subtasks   INTEGER DEFAULT 0 NOT NULL,
+    purged_activities INTEGER DEFAULT 0 NOT NULL,
+    chunks            INTEGER DEFAULT 0 NOT NULL,
+    created_at        TIMESTAMP(6),
+    started_at        TIMESTAMP(6),
+    finished_at       TIMESTAMP(6),
+    last_error        VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- Worker pickup: WHERE status IN ('PENDING', 'RUNNING') ORDER BY id
+CREATE INDEX idx_purge_jobs_status ON purge_jobs (status, id);
+
+-- Purge chunks: WHERE deleted = true AND deleted_at <= ? ORDER BY id
+CREATE INDEX idx_tasks_deleted_deleted_at ON tasks (deleted, deleted_at);
@@ -0,0 +1,83 @@
+-- Trashed tasks move to archive tables so live queries never see them. The
+-- archive mirrors the live columns; deleted_at records when the task was trashed.
+CREATE TABLE tasks_archive (
+    id                UUID         NOT NULL,
+    title             VARCHAR(255) NOT NULL,
+    position          INTEGER,
+    description       TEXT,
+    status            VARCHAR(255) NOT NULL CHECK (status IN ('TODO', 'DOING', 'DONE')),
+    priority          VARCHAR(255) NOT NULL CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    due_date          TIMESTAMP(6) NOT NULL,
+    important         BOOLEAN,
+    reminder_enabled  BOOLEAN,
+    reminder_time     TIMESTAMP(6),
+    created_at        TIMESTAMP(6),
+    updated_at        TIMESTAMP(6),
+    completed_at      TIMESTAMP(6),
+    deleted_at        TIMESTAMP(6) NOT NULL,
+    subtask_total     INTEGER DEFAULT 0 NOT NULL,
+    subtask_completed INTEGER DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE subtasks_archive (
+    id           UUID         NOT NULL,
+    title        VARCHAR(255) NOT NULL,
+    completed    BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    task_id      UUID,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_subtasks_archive_task FOREIGN KEY (task_id) REFERENCES tasks_archive (id)
+);
+
+CREATE TABLE activities_archive (
+    id         UUID         NOT NULL,
+    message    VARCHAR(255) NOT NULL,
+    field_name VARCHAR(255),
+    old_val    TEXT,
+    new_val    TEXT,
+    timestamp  TIMESTAMP(6),
+    task_id    UUID,
+    event_id   UUID,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_activities_archive_task FOREIGN KEY (task_id) REFERENCES tasks_archive (id)
+);
+
+-- History listing and purge cutoffs: ORDER BY / WHERE deleted_at
+CREATE INDEX idx_tasks_archive_deleted_at ON tasks_archive (deleted_at, id);
+CREATE INDEX idx_tasks_archive_completed_at ON tasks_archive (completed_at);
+CREATE INDEX idx_subtasks_archive_task ON subtasks_archive (task_id);
+CREATE INDEX idx_activities_archive_task_timestamp ON activities_archive (task_id, timestamp);
+CREATE INDEX idx_activities_archive_event ON activities_archive (event_id);
+
+-- Move the existing trash
+INSERT INTO tasks_archive (id, title, position, description, status, priority, due_date, important,
+        reminder_enabled, reminder_time, created_at, updated_at, completed_at, deleted_at, subtask_total,
+        subtask_completed)
+SELECT id, title, position, description, status, priority, due_date, important, reminder_enabled,
+       reminder_time, created_at, updated_at, completed_at, COALESCE(deleted_at, updated_at, CURRENT_TIMESTAMP),
+       subtask_total, subtask_completed
+FROM tasks WHERE deleted = true;
+
+INSERT INTO subtasks_archive (id, title, completed, created_at, completed_at, task_id)
+SELECT id, title, completed, created_at, completed_at, task_id
+FROM subtasks WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true);
+
+INSERT INTO activities_archive (id, message, field_name, old_val, new_val, timestamp, task_id, event_id)
+SELECT id, message, field_name, old_val, new_val, timestamp, task_id, event_id
+FROM activities WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true);
+
+DELETE FROM activities WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true);
+DELETE FROM subtasks WHERE task_id IN (SELECT id FROM tasks WHERE deleted = true);
+DELETE FROM tasks WHERE deleted = true;
+
+-- Live tables no longer carry the soft-delete flag
+DROP INDEX idx_tasks_deleted_status_position;
+DROP INDEX idx_tasks_deleted_status_due;
+DROP INDEX idx_tasks_deleted_deleted_at;
+ALTER TABLE tasks DROP COLUMN deleted;
+ALTER TABLE tasks DROP COLUMN deleted_at;
+
+CREATE INDEX idx_tasks_status_position ON tasks (status, position);
+CREATE INDEX idx_tasks_status_due ON tasks (status, due_date);
@@ -0,0 +1,56 @@
+-- Activities are stored as an event code plus field and old/new values; the
+-- timeline text is rendered when it is read. message is only kept for rows whose
+-- code cannot be derived from the pre-V7 text.
+
+ALTER TABLE activities ADD COLUMN event_code VARCHAR(40);
+ALTER TABLE activities ALTER COLUMN message SET NULL;
+ALTER TABLE activities_archive ADD COLUMN event_code VARCHAR(40);
+ALTER TABLE activities_archive ALTER COLUMN message SET NULL;
+
+-- One mapping for both tables: each row's code is worked out once, then copied
+-- to the live and archived timelines. Archiving moves rows, so ids are unique
+-- across the two.
+CREATE TABLE activity_event_codes (
+    id         UUID NOT NULL,
+    event_code VARCHAR(40),
+    PRIMARY KEY (id)
+);
+INSERT INTO activity_event_codes (id, event_code)
+SELECT id,
+    CASE
+        WHEN field_name IS NULL AND message = 'Tarefa criada com sucesso' THEN 'CREATED'
+        WHEN field_name IS NULL AND message LIKE 'NOTIFICAÇÃO DISPARADA%' THEN 'REMINDER_TRIGGERED'
+        WHEN field_name LIKE 'subtask\_added\_%' ESCAPE '\' THEN 'SUBTASK_ADDED'
+        WHEN field_name LIKE 'subtask\_removed\_%' ESCAPE '\' THEN 'SUBTASK_REMOVED'
+        WHEN field_name LIKE 'subtask\_completed\_%' ESCAPE '\' THEN 'SUBTASK_COMPLETED'
+        WHEN field_name LIKE 'subtask\_uncompleted\_%' ESCAPE '\' THEN 'SUBTASK_REOPENED'
+        WHEN field_name LIKE 'subtask\_renamed\_%' ESCAPE '\' THEN 'SUBTASK_RENAMED'
+        WHEN field_name = 'status' THEN 'STATUS_CHANGED'
+        WHEN field_name = 'título' THEN 'TITLE_CHANGED'
+        WHEN field_name = 'descrição' THEN 'DESCRIPTION_CHANGED'
+        WHEN field_name = 'prioridade' THEN 'PRIORITY_CHANGED'
+        WHEN field_name = 'prazo' AND new_val IS NULL THEN 'DUE_DATE_REMOVED'
+        WHEN field_name = 'prazo' THEN 'DUE_DATE_CHANGED'
+        WHEN field_name = 'importância' AND new_val = 'true' THEN 'MARKED_IMPORTANT'
+        WHEN field_name = 'importância' THEN 'UNMARKED_IMPORTANT'
+        WHEN field_name = 'lembrete' AND new_val = 'true' THEN 'REMINDER_ENABLED'
+        WHEN field_name = 'lembrete' THEN 'REMINDER_DISABLED'
+        WHEN field_name = 'deleted' AND new_val = 'true' THEN 'TRASHED'
+        WHEN field_name = 'deleted' THEN 'RESTORED'
+        WHEN field_name IS NOT NULL AND message LIKE 'Campo %' THEN 'FIELD_CHANGED'
+    END
+FROM (
+    SELECT id, field_name, message, new_val FROM activities
+    UNION ALL
+    SELECT id, field_name, message, new_val FROM activities_archive
+) pre_v7;
+
+UPDATE activities a
+SET event_code = (SELECT c.event_code FROM activity_event_codes c WHERE c.id = a.id);
+UPDATE activities SET message = NULL WHERE event_code IS NOT NULL;
+
+UPDATE activities_archive a
+SET event_code = (SELECT c.event_code FROM activity_event_codes c WHERE c.id = a.id);
+UPDATE activities_archive SET message = NULL WHERE event_code IS NOT NULL;
+
+DROP TABLE activity_event_codes;
@@ -0,0 +1,28 @@
+-- Reminder delivery state: one row per reminder (task, reminder_time) and sink,
+-- written by NotificationScheduler and advanced by ReminderDispatcher.
+CREATE TABLE reminder_deliveries (
+    id              UUID          NOT NULL,
+    task_id         UUID          NOT NULL,
+    reminder_time   TIMESTAMP(6)  NOT NULL,
+    title           VARCHAR(255)  NOT NULL,
+    sink            VARCHAR(40)   NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER DEFAULT 0 NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    created_at      TIMESTAMP(6),
+    delivered_at    TIMESTAMP(6),
+    last_error      VARCHAR(500),
+    PRIMARY KEY (id)
+);
+
+-- A reminder is scheduled once per sink: WHERE task_id = ? AND reminder_time = ?
+CREATE UNIQUE INDEX idx_reminder_deliveries_reminder ON reminder_deliveries (task_id, reminder_time, sink);
+
+-- Dispatch: WHERE status = 'PENDING' AND sink = ? AND next_attempt_at <= ? ORDER BY next_attempt_at
+CREATE INDEX idx_reminder_deliveries_due ON reminder_deliveries (status, sink, next_attempt_at);
+
+-- Retention cleanup: WHERE reminder_time < ?
+CREATE INDEX idx_reminder_deliveries_time ON reminder_deliveries (reminder_time);
+
+-- Due reminder scan: WHERE reminder_enabled = true AND reminder_time > ? AND reminder_time <= ?
+CREATE INDEX idx_tasks_reminder_time ON tasks (reminder_time);
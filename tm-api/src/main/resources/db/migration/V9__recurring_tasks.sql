@@ -0,0 +1,8 @@
+-- Recurring tasks: the rule lives on the open occurrence of a series and moves
+-- to the next occurrence when that one is completed, so a series never has
+-- more than one future row.
+ALTER TABLE tasks ADD COLUMN recurrence_rule VARCHAR(100);
+ALTER TABLE tasks_archive ADD COLUMN recurrence_rule VARCHAR(100);
+
+-- Virtual expansion of due windows: WHERE recurrence_rule IS NOT NULL AND due_date < ?
+CREATE INDEX idx_tasks_recurrence_due ON tasks (recurrence_rule, due_date);
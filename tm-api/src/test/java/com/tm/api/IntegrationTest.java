@@ -0,0 +1,56 @@
+package com.tm.api;
+
+import com.tm.api.service.TaskJsonCache;
+import com.tm.api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Base for tests against the whole application. Subclasses share one context and
+ * one in-memory database, which is emptied before each test; a subclass that needs
+ * other settings adds them with @TestPropertySource and gets a context of its own.
+ * Schedulers are slowed to once an hour so tests drive the relay, workers and
+ * dispatchers themselves.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:integration;DB_CLOSE_DELAY=-1",
+        "tm.seed.enabled=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H",
+        "tm.reminders.scan-interval=PT1H",
+        "tm.reminders.dispatch-interval=PT1H",
+        "tm.subtask-counters.repair-initial-delay=PT1H"
+})
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+    /** Children before parents. Position counters are kept: they only ever move forward. */
+    private static final List<String> TABLES = List.of(
+            "activities", "subtasks", "reminder_deliveries", "outbox_events", "purge_jobs", "tasks",
+            "activities_archive", "subtasks_archive", "tasks_archive");
+
+    @Autowired
+    protected TaskService taskService;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskJsonCache taskJsonCache;
+
+    @BeforeEach
+    protected void emptyDatabase() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        taskJsonCache.evictAll();
+    }
+
+    protected UUID createTask(String title) {
+        return taskService.create(TaskFixtures.task(title).build()).getId();
+    }
+}
@@ -0,0 +1,102 @@
+package com.tm.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.config.SqlStatementCountFilter;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.OutboxRelay;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets per endpoint, read from the X-SQL-Statement-Count header. The
+ * list budget is independent of the page size: a per-task lazy load would blow it.
+ */
+class SqlStatementBudgetTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID id;
+
+    @BeforeEach
+    void board() {
+        for (int i = 0; i < 25; i++) {
+            id = taskService.create(TaskFixtures.task("Budget task " + i)
+                    .subtasks(TaskFixtures.steps("Budget task " + i, 2))
+                    .build()).getId();
+        }
+        relay.relayPending();
+    }
+
+    @Test
+    void readEndpointsStayWithinBudget() throws Exception {
+        assertBudget(get("/tasks").param("size", "5"), 3);
+        assertBudget(get("/tasks").param("size", "25"), 3);
+        assertBudget(get("/tasks/{id}", id), 3);
+        for (TaskDTO trashed : taskService.findAll(null, PageRequest.of(0, 10)).getContent()) {
+            taskService.delete(trashed.getId());
+        }
+        assertBudget(get("/tasks/history").param("limit", "5"), 2);
+        assertBudget(get("/tasks/history").param("limit", "50"), 2);
+
+        DistributionSummary list = meterRegistry.find("http.server.sql.statements")
+                .tags("method", "GET", "uri", "/tasks")
+                .summary();
+        assertNotNull(list);
+        assertTrue(list.count() >= 2);
+    }
+
+    @Test
+    void writeEndpointsStayWithinBudget() throws Exception {
+        TaskDTO task = TaskDTO.builder()
+                .title("Created over HTTP")
+                .status(TaskStatus.TODO)
+                .priority(Priority.MEDIUM)
+                .dueDate(LocalDateTime.now().plusDays(2))
+                .build();
+        assertBudget(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)), 2);
+
+        task.setTitle("Renamed over HTTP");
+        assertBudget(put("/tasks/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)), 7);
+        assertBudget(delete("/tasks/{id}", id), 8);
+    }
+
+    private void assertBudget(RequestBuilder request, int budget) throws Exception {
+        ResultActions result = mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        String header = result.andReturn().getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header, "missing " + SqlStatementCountFilter.HEADER);
+        assertTrue(Integer.parseInt(header) <= budget, header + " statements, budget " + budget);
+    }
+}
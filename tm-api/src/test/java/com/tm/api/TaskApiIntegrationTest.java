@@ -1,26 +1,33 @@
 package com.tm.api;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.OutboxRelay;
 import com.tm.api.model.Priority;
 import com.tm.api.model.TaskStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
-@SpringBootTest
-@AutoConfigureMockMvc
-class TaskApiIntegrationTest {
+class TaskApiIntegrationTest extends IntegrationTest {
 
         @Autowired
         private MockMvc mockMvc;
@@ -28,6 +35,9 @@ class TaskApiIntegrationTest {
         @Autowired
         private ObjectMapper objectMapper;
 
+        @Autowired
+        private OutboxRelay outboxRelay;
+
         @Test
         void shouldCreateAndRetrieveTask() throws Exception {
                 TaskDTO task = TaskDTO.builder()
@@ -50,4 +60,88 @@ class TaskApiIntegrationTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.content[?(@.title == 'Integration Task')]").exists());
         }
+
+        @Test
+        void listEntriesOmitTheActivityTimeline() throws Exception {
+                TaskDTO task = TaskDTO.builder()
+                                .title("Slim list entry")
+                                .status(TaskStatus.TODO)
+                                .priority(Priority.LOW)
+                                .dueDate(LocalDateTime.now().plusDays(2))
+                                .build();
+                MvcResult created = mockMvc.perform(post("/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(task)))
+                                .andExpect(status().isCreated())
+                                .andReturn();
+                String id = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asText();
+                outboxRelay.relayPending();
+
+                mockMvc.perform(get("/tasks").param("size", "100"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[?(@.id == '" + id + "')].subtaskTotal").exists())
+                                .andExpect(jsonPath("$.content[?(@.id == '" + id + "')].activities").isEmpty());
+                mockMvc.perform(get("/tasks/{id}", id))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.activities").isNotEmpty());
+        }
+
+        @Test
+        void shouldNegotiateBinaryTaskListsWithEpochDates() throws Exception {
+                LocalDateTime dueDate = LocalDateTime.of(2030, 1, 15, 9, 30);
+                TaskDTO task = TaskDTO.builder()
+                                .title("Binary Task")
+                                .status(TaskStatus.TODO)
+                                .priority(Priority.LOW)
+                                .dueDate(dueDate)
+                                .build();
+                mockMvc.perform(post("/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(task)))
+                                .andExpect(status().isCreated());
+                long epochMillis = dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+                for (ObjectMapper binary : new ObjectMapper[] { new CBORMapper(), new SmileMapper() }) {
+                        MediaType mediaType = binary instanceof CBORMapper ? MediaType.APPLICATION_CBOR
+                                        : MediaType.parseMediaType("application/x-jackson-smile");
+                        byte[] body = mockMvc.perform(get("/tasks").param("size", "200").accept(mediaType))
+                                        .andExpect(status().isOk())
+                                        .andExpect(content().contentTypeCompatibleWith(mediaType))
+                                        .andReturn().getResponse().getContentAsByteArray();
+
+                        JsonNode created = null;
+                        for (JsonNode node : binary.readTree(body).get("content")) {
+                                if ("Binary Task".equals(node.get("title").asText())) {
+                                        created = node;
+                                }
+                        }
+                        assertTrue(created != null, mediaType + " list is missing the created task");
+                        assertTrue(created.get("dueDate").isIntegralNumber(), mediaType + " dueDate is not numeric");
+                        assertEquals(epochMillis, created.get("dueDate").asLong());
+                }
+        }
+
+        @Test
+        void everyStreamSubscriberGetsTheSameEventFrames() throws Exception {
+                MvcResult first = mockMvc.perform(get("/tasks/stream")).andExpect(request().asyncStarted()).andReturn();
+                MvcResult second = mockMvc.perform(get("/tasks/stream")).andExpect(request().asyncStarted()).andReturn();
+
+                TaskDTO task = TaskDTO.builder()
+                                .title("Streamed Task")
+                                .status(TaskStatus.TODO)
+                                .priority(Priority.LOW)
+                                .dueDate(LocalDateTime.now().plusDays(1))
+                                .build();
+                String created = mockMvc.perform(post("/tasks")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(task)))
+                                .andExpect(status().isCreated())
+                                .andReturn().getResponse().getContentAsString();
+                outboxRelay.relayPending();
+
+                String firstFrames = first.getResponse().getContentAsString();
+                assertTrue(firstFrames.contains(objectMapper.readTree(created).get("id").asText()), firstFrames);
+                assertEquals(firstFrames, second.getResponse().getContentAsString());
+                assertFalse(firstFrames.contains("\n\n\n"), "frames end with exactly one blank line");
+        }
 }
@@ -0,0 +1,34 @@
+package com.tm.api;
+
+import com.tm.api.dto.SubtaskDTO;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Task DTOs for tests: an open, low-priority task due tomorrow unless the test says otherwise. */
+public final class TaskFixtures {
+
+    private TaskFixtures() {
+    }
+
+    public static TaskDTO.TaskDTOBuilder task(String title) {
+        return TaskDTO.builder()
+                .title(title)
+                .status(TaskStatus.TODO)
+                .priority(Priority.LOW)
+                .dueDate(LocalDateTime.now().plusDays(1));
+    }
+
+    /** {@code count} open checklist items named "{@code title} step 0", "{@code title} step 1", ... */
+    public static List<SubtaskDTO> steps(String title, int count) {
+        List<SubtaskDTO> steps = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            steps.add(SubtaskDTO.builder().title(title + " step " + i).build());
+        }
+        return steps;
+    }
+}
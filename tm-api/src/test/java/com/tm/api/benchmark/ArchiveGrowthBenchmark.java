@@ -0,0 +1,107 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.model.TaskStatus;
+import com.tm.api.service.TaskService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Live board reads must not depend on the size of the trash: trashed tasks live
+ * in tasks_archive, so the live column query touches the same rows whether the
+ * archive is empty or holds millions of tasks. Uses a file database under
+ * target/ because the archive does not fit comfortably in the test heap.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/archive-benchmark/db",
+        "spring.jpa.show-sql=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H",
+        "logging.level.com.tm.api=WARN"
+})
+class ArchiveGrowthBenchmark {
+
+    private static final int LIVE_ROWS = 2_000;
+    private static final int[] ARCHIVE_SIZES = { 0, 100_000, 500_000, 1_000_000 };
+    private static final int BATCH = 100_000;
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP = 500;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void freshDatabase() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("target", "archive-benchmark"));
+    }
+
+    @Test
+    void liveBoardLatencyStaysFlatAsArchiveGrows() {
+        jdbcTemplate.update("DELETE FROM activities");
+        jdbcTemplate.update("DELETE FROM subtasks");
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, position, status, priority, due_date, important, "
+                + "reminder_enabled, created_at, subtask_total, subtask_completed) "
+                + "SELECT RANDOM_UUID(), 'Live task ' || X, X, CASEWHEN(MOD(X, 3) = 0, 'TODO', "
+                + "CASEWHEN(MOD(X, 3) = 1, 'DOING', 'DONE')), 'MEDIUM', DATEADD('DAY', 7, CURRENT_TIMESTAMP), "
+                + "false, false, CURRENT_TIMESTAMP, 0, 0 FROM SYSTEM_RANGE(1, ?)", LIVE_ROWS);
+
+        Map<Integer, Double> medians = new LinkedHashMap<>();
+        int archived = 0;
+        for (int size : ARCHIVE_SIZES) {
+            while (archived < size) {
+                int batch = Math.min(BATCH, size - archived);
+                archiveRows(batch);
+                archived += batch;
+            }
+            medians.put(size, medianMicros());
+        }
+
+        System.out.println("== Live board column (page of 20) vs archived tasks ==");
+        medians.forEach((size, micros) -> System.out.printf("archived=%,10d  median=%8.1f us%n", size, micros));
+
+        double first = medians.get(ARCHIVE_SIZES[0]);
+        double last = medians.get(ARCHIVE_SIZES[ARCHIVE_SIZES.length - 1]);
+        assertTrue(last < first * 3, "Live board latency grew with the archive: " + medians);
+    }
+
+    private double medianMicros() {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            long start = System.nanoTime();
+            var page = taskService.findAll(TaskStatus.TODO, PageRequest.of(0, 20));
+            long elapsed = System.nanoTime() - start;
+            assertEquals(LIVE_ROWS / 3, page.getTotalElements());
+            if (i >= WARMUP) {
+                samples[i - WARMUP] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000.0;
+    }
+
+    private void archiveRows(int count) {
+        jdbcTemplate.update("INSERT INTO tasks_archive (id, title, position, status, priority, due_date, important, "
+                + "reminder_enabled, created_at, completed_at, deleted_at, subtask_total, subtask_completed) "
+                + "SELECT RANDOM_UUID(), 'Trashed task ' || X, X, 'TODO', 'LOW', DATEADD('DAY', -30, CURRENT_TIMESTAMP), "
+                + "false, false, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 0 "
+                + "FROM SYSTEM_RANGE(1, ?)", count);
+    }
+}
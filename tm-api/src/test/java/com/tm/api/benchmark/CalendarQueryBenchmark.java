@@ -0,0 +1,137 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.config.SlowQueryLog;
+import com.tm.api.dto.CalendarDayDTO;
+import com.tm.api.service.TaskService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The calendar month and year views on a board of a million tasks spread over
+ * four years, one in ten thousand of them a weekly series. Prints the plans H2
+ * picks for the per-day aggregate and the open-series lookup (read through
+ * {@link SlowQueryLog}) and the median latency of each view: the aggregate must
+ * be a range scan on idx_tasks_due_status_priority and the lookup one on
+ * idx_tasks_recurrence_due, so the cost follows the rows in the range, not the
+ * size of the table. Uses a file database under
+ * target/ because the board does not fit comfortably in the test heap.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/calendar-benchmark/db",
+        "spring.jpa.show-sql=false",
+        "tm.seed.enabled=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H",
+        "tm.slow-query.threshold=PT0S",
+        "logging.level.com.tm.api=WARN",
+        "logging.level.com.tm.api.config.SlowQueryLog=ERROR"
+})
+class CalendarQueryBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH = 100_000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2040, 1, 1);
+    private static final int DAYS = 4 * 365;
+    private static final int ITERATIONS = 20;
+    private static final int WARMUP = 5;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void freshDatabase() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("target", "calendar-benchmark"));
+    }
+
+    @Test
+    void yearViewIsAnIndexRangeScanAtAMillionTasks() {
+        for (int offset = 0; offset < ROWS; offset += BATCH) {
+            insertRows(offset, BATCH);
+        }
+        jdbcTemplate.execute("ANALYZE");
+
+        LocalDate monthStart = LocalDate.of(2041, 3, 1);
+        LocalDate yearStart = LocalDate.of(2041, 1, 1);
+        double month = medianMillis(monthStart, 30);
+        double year = medianMillis(yearStart, 364);
+
+        slowQueryLog.clear();
+        List<CalendarDayDTO> days = taskService.getCalendar(yearStart, yearStart.plusYears(1).minusDays(1));
+        long inYear = days.stream().mapToLong(CalendarDayDTO::getTotal).sum();
+        SlowQueryLog.Statement aggregate = statement("countByDueDay");
+        SlowQueryLog.Statement series = statement("findOpenRecurringDueBefore");
+
+        System.out.println("== Calendar (" + String.format("%,d", ROWS) + " tasks over " + DAYS + " days) ==");
+        System.out.printf("month  median=%8.1f ms%n", month);
+        System.out.printf("year   median=%8.1f ms  tasks in range=%,d%n", year, inYear);
+        System.out.println("aggregate plan:");
+        System.out.println(aggregate.plan());
+        System.out.println("series plan:");
+        System.out.println(series.plan());
+
+        assertEquals(365, days.size());
+        assertTrue(inYear > ROWS / 5 && inYear < ROWS / 3, "a quarter of the board is due in 2041: " + inYear);
+        String plan = aggregate.plan().toUpperCase();
+        assertTrue(plan.contains("IDX_TASKS_DUE_STATUS_PRIORITY"), aggregate.plan());
+        assertFalse(plan.contains("TABLESCAN"), aggregate.plan());
+        assertTrue(series.plan().toUpperCase().contains("IDX_TASKS_RECURRENCE_DUE"), series.plan());
+        assertTrue(month * 4 < year, "month " + month + " ms vs year " + year + " ms: cost should follow the range");
+    }
+
+    private SlowQueryLog.Statement statement(String method) {
+        return slowQueryLog.entries().stream()
+                .filter(entry -> entry.method().equals(method))
+                .findFirst()
+                .orElseThrow()
+                .statements().get(0);
+    }
+
+    /** Each run shifts the range by a day: H2 reuses the last result of a query run with the same parameters. */
+    private double medianMillis(LocalDate from, int days) {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            LocalDate shifted = from.plusDays(i);
+            long start = System.nanoTime();
+            taskService.getCalendar(shifted, shifted.plusDays(days));
+            long elapsed = System.nanoTime() - start;
+            if (i >= WARMUP) {
+                samples[i - WARMUP] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    /** Due dates walk the four years minute by minute across rows, mixing every status and priority. */
+    private void insertRows(int offset, int count) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, position, status, priority, due_date, important, "
+                + "reminder_enabled, recurrence_rule, created_at, subtask_total, subtask_completed) "
+                + "SELECT RANDOM_UUID(), 'Calendar task ' || X, X, CASEWHEN(MOD(X, 3) = 0, 'TODO', "
+                + "CASEWHEN(MOD(X, 3) = 1, 'DOING', 'DONE')), CASEWHEN(MOD(X, 5) = 0, 'HIGH', "
+                + "CASEWHEN(MOD(X, 5) < 3, 'MEDIUM', 'LOW')), "
+                + "DATEADD('MINUTE', MOD(X * 7919, ?), CAST(? AS TIMESTAMP)), false, false, "
+                + "CASEWHEN(MOD(X, 10000) = 0, 'WEEKLY', NULL), CURRENT_TIMESTAMP, 0, 0 "
+                + "FROM SYSTEM_RANGE(?, ?)", DAYS * 24 * 60, FIRST_DAY.atStartOfDay(), offset + 1, offset + count);
+    }
+}
@@ -0,0 +1,84 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.service.TaskService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overdue lookups must stay flat as the table grows: the number of overdue rows
+ * is fixed while the amount of future and completed work increases.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:overdue-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.tm.api=WARN"
+})
+class OverdueQueryBenchmark {
+
+    private static final int OVERDUE_ROWS = 50;
+    private static final int[] TABLE_SIZES = { 10_000, 100_000, 500_000 };
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP = 500;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void overdueLookupLatencyStaysFlat() {
+        insertRows(OVERDUE_ROWS, "'TODO'", "DATEADD('DAY', -1, CURRENT_TIMESTAMP)");
+
+        Map<Integer, Double> medians = new LinkedHashMap<>();
+        int inserted = 0;
+        for (int size : TABLE_SIZES) {
+            int missing = size - inserted;
+            // Half future open work, half completed work with past due dates
+            insertRows(missing / 2, "'DOING'", "DATEADD('DAY', 7, CURRENT_TIMESTAMP)");
+            insertRows(missing - missing / 2, "'DONE'", "DATEADD('DAY', -3, CURRENT_TIMESTAMP)");
+            inserted = size;
+            medians.put(size, medianMicros());
+        }
+
+        System.out.println("== Overdue lookup (page of 20) ==");
+        medians.forEach((size, micros) -> System.out.printf("rows=%,9d  median=%8.1f us%n", size, micros));
+
+        double first = medians.get(TABLE_SIZES[0]);
+        double last = medians.get(TABLE_SIZES[TABLE_SIZES.length - 1]);
+        assertTrue(last < first * 3, "Overdue lookup latency grew with table size: " + medians);
+    }
+
+    private double medianMicros() {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            long start = System.nanoTime();
+            var page = taskService.findByDueWindow(null, true, null, null, null, PageRequest.of(0, 20));
+            long elapsed = System.nanoTime() - start;
+            assertTrue(page.getTotalElements() == OVERDUE_ROWS);
+            if (i >= WARMUP) {
+                samples[i - WARMUP] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000.0;
+    }
+
+    private void insertRows(int count, String status, String dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, position, status, priority, due_date, important, "
+                + "reminder_enabled, created_at, subtask_total, subtask_completed) "
+                + "SELECT RANDOM_UUID(), 'Benchmark task ' || X, X, " + status + ", 'MEDIUM', " + dueDate
+                + ", false, false, CURRENT_TIMESTAMP, 0, 0 FROM SYSTEM_RANGE(1, ?)", count);
+    }
+}
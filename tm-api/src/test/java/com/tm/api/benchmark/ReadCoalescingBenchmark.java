@@ -0,0 +1,124 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.TaskManagerApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Board-open storm: many clients request the same first page of a column at the
+ * same moment, with and without read coalescing. Database load is the number of
+ * TaskRepository calls (spring.data.repository.invocations) the storm caused.
+ */
+@Tag("benchmark")
+class ReadCoalescingBenchmark {
+
+    private static final int CLIENTS = 200;
+    private static final int REQUESTS_PER_CLIENT = 10;
+    private static final int WARMUP_REQUESTS = 500;
+
+    @Test
+    void coalescingCutsRepositoryCallsUnderFanIn() throws Exception {
+        Result plain = run(false);
+        Result coalesced = run(true);
+
+        System.out.println("== " + CLIENTS + " concurrent clients, GET /tasks?status=TODO&page=0 ==");
+        System.out.println("plain     " + plain);
+        System.out.println("coalesced " + coalesced);
+
+        assertEquals(0, plain.errors(), "plain run had failed requests");
+        assertEquals(0, coalesced.errors(), "coalesced run had failed requests");
+        assertTrue(coalesced.repositoryCalls() * 2 < plain.repositoryCalls(),
+                "Coalescing should at least halve repository calls: " + coalesced + " vs " + plain);
+    }
+
+    private Result run(boolean coalescing) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=true",
+                        "spring.datasource.url=jdbc:h2:mem:coalescing-" + coalescing + ";DB_CLOSE_DELAY=-1",
+                        "tm.read-coalescing.enabled=" + coalescing,
+                        "tm.seed.mode=synthetic",
+                        "tm.seed.synthetic.tasks=2000",
+                        "tm.outbox.poll-interval=PT1H",
+                        "tm.purge.interval=PT1H",
+                        "logging.level.root=WARN")
+                .run();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/tasks?status=TODO&page=0")).GET().build();
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            long callsBefore = repositoryCalls(meterRegistry);
+            long began = System.nanoTime();
+            int errors = storm(client, request);
+            double seconds = (System.nanoTime() - began) / 1e9;
+            long calls = repositoryCalls(meterRegistry) - callsBefore;
+            return new Result(CLIENTS * REQUESTS_PER_CLIENT / seconds, calls, errors);
+        }
+    }
+
+    private int storm(HttpClient client, HttpRequest request) throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        return errors.get();
+    }
+
+    private static long repositoryCalls(MeterRegistry meterRegistry) {
+        return meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "TaskRepository")
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private record Result(double throughput, long repositoryCalls, int errors) {
+        @Override
+        public String toString() {
+            return String.format("throughput=%7.0f req/s  repository calls=%6d  errors=%d",
+                    throughput, repositoryCalls, errors);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tm.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tm.api.dto.ActivityDTO;
+import com.tm.api.dto.SubtaskDTO;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Serialization time and payload size of a large board page as JSON, CBOR and
+ * Smile, using the mappers the API actually negotiates with. "json-cached" is
+ * the application's JSON mapper with every task fragment already cached.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:serialization-formats;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H"
+})
+class SerializationFormatBenchmark {
+
+    private static final int TASKS = 500;
+    private static final int SUBTASKS_PER_TASK = 5;
+    private static final int ACTIVITIES_PER_TASK = 10;
+    private static final int ITERATIONS = 200;
+    private static final int WARMUP = 200;
+
+    @Autowired
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Test
+    void binaryFormatsAreSmallerAndFasterThanJson() throws Exception {
+        Page<TaskDTO> page = board();
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        // Baseline without the task JSON cache, which the application mapper goes through
+        formats.put("json", JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+        formats.put("json-cached", jsonMapper);
+        formats.put("cbor", cborConverter.getObjectMapper());
+        formats.put("smile", smileConverter.getObjectMapper());
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            sizes.put(format.getKey(), format.getValue().writeValueAsBytes(page).length);
+            medians.put(format.getKey(), medianMicros(format.getValue(), page));
+        }
+
+        System.out.println("== Board page (" + TASKS + " tasks with subtasks and activities) ==");
+        formats.keySet().forEach(name -> System.out.printf("%-12s size=%,9d bytes  median=%8.1f us%n",
+                name, sizes.get(name), medians.get(name)));
+
+        assertTrue(sizes.get("cbor") < sizes.get("json"), "CBOR payload is not smaller than JSON: " + sizes);
+        assertTrue(sizes.get("smile") < sizes.get("json"), "Smile payload is not smaller than JSON: " + sizes);
+        assertTrue(medians.get("cbor") < medians.get("json"), "CBOR is slower to write than JSON: " + medians);
+        assertTrue(medians.get("smile") < medians.get("json"), "Smile is slower to write than JSON: " + medians);
+    }
+
+    private double medianMicros(ObjectMapper mapper, Object value) throws Exception {
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS + WARMUP; i++) {
+            long start = System.nanoTime();
+            mapper.writeValueAsBytes(value);
+            long elapsed = System.nanoTime() - start;
+            if (i >= WARMUP) {
+                samples[i - WARMUP] = elapsed;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000.0;
+    }
+
+    private Page<TaskDTO> board() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int t = 0; t < TASKS; t++) {
+            UUID taskId = UUID.randomUUID();
+            List<SubtaskDTO> subtasks = new ArrayList<>();
+            for (int s = 0; s < SUBTASKS_PER_TASK; s++) {
+                subtasks.add(SubtaskDTO.builder()
+                        .id(UUID.randomUUID())
+                        .title("Checklist item " + s)
+                        .completed(s % 2 == 0)
+                        .createdAt(now.minusDays(s))
+                        .completedAt(s % 2 == 0 ? now : null)
+                        .build());
+            }
+            List<ActivityDTO> activities = new ArrayList<>();
+            for (int a = 0; a < ACTIVITIES_PER_TASK; a++) {
+                activities.add(ActivityDTO.builder()
+                        .id(UUID.randomUUID())
+                        .message("Status alterado de TODO para DOING")
+                        .fieldName("status")
+                        .oldVal("TODO")
+                        .newVal("DOING")
+                        .timestamp(now.minusHours(a))
+                        .build());
+            }
+            tasks.add(TaskDTO.builder()
+                    .id(taskId)
+                    .title("Task " + t)
+                    .description("Description of task " + t)
+                    .status(TaskStatus.values()[t % 3])
+                    .priority(Priority.values()[t % 3])
+                    .position(t)
+                    .dueDate(now.plusDays(t % 30))
+                    .createdAt(now.minusDays(30))
+                    .updatedAt(now)
+                    .subtasks(subtasks)
+                    .activities(activities)
+                    .build());
+        }
+        return new PageImpl<>(tasks, PageRequest.of(0, TASKS), TASKS);
+    }
+}
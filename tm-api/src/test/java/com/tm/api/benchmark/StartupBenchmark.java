@@ -0,0 +1,159 @@
+package com.tm.api.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time-to-ready and time-to-first-request of the packaged application in each
+ * startup mode, each measured in a fresh JVM. Needs the fast-startup build:
+ * <pre>
+ * ./mvnw -Pfast-startup package -DskipTests
+ * ./mvnw test -Pbenchmark -Dtest=StartupBenchmark
+ * </pre>
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final int RUNS = 3;
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern READY = Pattern.compile("process running for ([\\d.]+)");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    @Test
+    void fastStartupModeIsReadySooner() throws Exception {
+        Path jar = packagedJar();
+        Path archive = Path.of("target", "tm-api.jsa");
+        assumeTrue(jar != null && Files.exists(archive), "Run ./mvnw -Pfast-startup package -DskipTests first");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of());
+        modes.put("prod", List.of("-Dspring.profiles.active=prod"));
+        modes.put("prod+aot", List.of("-Dspring.profiles.active=prod", "-Dspring.aot.enabled=true"));
+        modes.put("prod+aot+cds", List.of("-Dspring.profiles.active=prod", "-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-Xlog:cds=error"));
+
+        Map<String, double[]> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            double[] ready = new double[RUNS];
+            double[] firstRequest = new double[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                double[] sample = start(jar, mode.getValue());
+                ready[run] = sample[0];
+                firstRequest[run] = sample[1];
+            }
+            results.put(mode.getKey(), new double[] { median(ready), median(firstRequest) });
+        }
+
+        System.out.println("== Startup (median of " + RUNS + " fresh JVMs) ==");
+        results.forEach((mode, r) -> System.out.printf("%-13s ready=%6.2f s  first request=%6.2f s%n",
+                mode, r[0], r[1]));
+
+        assertTrue(results.get("prod+aot+cds")[0] < results.get("default")[0],
+                "AOT + CDS should be ready before the default mode");
+    }
+
+    /** Returns {seconds until the ready log line, seconds until GET /tasks answered 200}. */
+    private double[] start(Path jar, List<String> options) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(options);
+        command.add("-Dserver.port=" + port);
+        command.add("-Dspring.datasource.url=jdbc:h2:mem:startup");
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        CompletableFuture<Double> ready = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> drain(process, ready));
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tasks")).build();
+            while (true) {
+                assertTrue(System.nanoTime() - launched < TIMEOUT.toNanos(), "Application did not start: " + command);
+                assertTrue(process.isAlive(), "Application exited during startup: " + command);
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(50);
+            }
+            double firstRequest = (System.nanoTime() - launched) / 1e9;
+            return new double[] { ready.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS), firstRequest };
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Consumes the log so the process never blocks on a full pipe, and reports the ready time. */
+    private static void drain(Process process, CompletableFuture<Double> ready) {
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                Matcher matcher = READY.matcher(line);
+                if (matcher.find()) {
+                    ready.complete(Double.parseDouble(matcher.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            // process was stopped
+        }
+        ready.complete(Double.NaN);
+    }
+
+    private static Path packagedJar() throws IOException {
+        Path target = Path.of("target");
+        if (!Files.isDirectory(target.resolve("lib"))) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(p -> p.getFileName().toString().matches("tm-api-.*\\.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
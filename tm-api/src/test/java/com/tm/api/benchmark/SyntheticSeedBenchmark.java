@@ -0,0 +1,57 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.config.SyntheticDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput of the synthetic seed against a file database. Override the size
+ * with -Dsynthetic.tasks=1000000 for a full million-task board.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/synthetic-benchmark/db",
+        "spring.jpa.show-sql=false",
+        "tm.seed.enabled=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H",
+        "logging.level.com.tm.api=WARN"
+})
+class SyntheticSeedBenchmark {
+
+    private static final int TASKS = Integer.getInteger("synthetic.tasks", 200_000);
+    private static final Duration MILLION_BUDGET = Duration.ofMinutes(15);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @BeforeAll
+    static void freshDatabase() throws Exception {
+        FileSystemUtils.deleteRecursively(Path.of("target", "synthetic-benchmark"));
+    }
+
+    @Test
+    void millionTaskBoardIsGeneratedInMinutes() {
+        SyntheticDataGenerator.Result result = generator.generate(TASKS, 42, 1_000);
+
+        double seconds = result.elapsed().toNanos() / 1e9;
+        double tasksPerSecond = result.tasks() / seconds;
+        double millionSeconds = 1_000_000 / tasksPerSecond;
+        System.out.println("== Synthetic seed ==");
+        System.out.printf("tasks=%,d  subtasks=%,d  activities=%,d  elapsed=%.1f s%n",
+                result.tasks(), result.subtasks(), result.activities(), seconds);
+        System.out.printf("throughput=%,.0f tasks/s  projected 1M=%.0f s%n", tasksPerSecond, millionSeconds);
+
+        assertTrue(millionSeconds < MILLION_BUDGET.toSeconds(),
+                "1M tasks should take under " + MILLION_BUDGET.toMinutes() + " minutes");
+    }
+}
@@ -0,0 +1,92 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.model.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput and primary-key storage for random v4 ids versus
+ * time-ordered v7 ids, on an activities-shaped table.
+ */
+@Tag("benchmark")
+class UuidInsertBenchmark {
+
+    private static final int ROWS = 300_000;
+    private static final int BATCH = 1_000;
+
+    @Test
+    void timeOrderedIdsInsertFaster() throws Exception {
+        // Warm up the JIT and H2 for both generators before measuring
+        run("v4", UUID::randomUUID, ROWS / 10);
+        run("v7", UuidV7Generator::next, ROWS / 10);
+
+        Result v4 = run("v4", UUID::randomUUID, ROWS);
+        Result v7 = run("v7", UuidV7Generator::next, ROWS);
+
+        System.out.println("== UUID insert benchmark (" + ROWS + " rows) ==");
+        System.out.println(v4);
+        System.out.println(v7);
+
+        // MVStore is log-structured, so on-disk size is reported rather than asserted
+        assertTrue(v7.rowsPerSecond() >= v4.rowsPerSecond(), "v7 inserts should not be slower than v4");
+    }
+
+    private Result run(String name, Supplier<UUID> ids, int rows) throws Exception {
+        String url = "jdbc:h2:file:./target/benchmark/uuid-" + name + ";MODE=REGULAR";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("DROP TABLE IF EXISTS activities");
+                ddl.execute("CREATE TABLE activities (id UUID PRIMARY KEY, task_id UUID, "
+                        + "message VARCHAR(255), timestamp TIMESTAMP(6))");
+            }
+            connection.setAutoCommit(false);
+
+            UUID taskId = UUID.randomUUID();
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO activities (id, task_id, message, timestamp) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= rows; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setObject(2, taskId);
+                    insert.setString(3, "Status atualizado: TODO → DONE");
+                    insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long bytes;
+            try (Statement stats = connection.createStatement()) {
+                stats.execute("CHECKPOINT SYNC");
+                try (ResultSet rs = stats.executeQuery("CALL DISK_SPACE_USED('ACTIVITIES')")) {
+                    rs.next();
+                    bytes = rs.getLong(1);
+                }
+                stats.execute("DROP TABLE activities");
+            }
+            return new Result(name, rows / seconds, bytes);
+        }
+    }
+
+    private record Result(String name, double rowsPerSecond, long bytes) {
+        @Override
+        public String toString() {
+            return String.format("%s: %,10.0f rows/s  table+pk=%,12d bytes", name, rowsPerSecond, bytes);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.tm.api.benchmark;
+
+import com.tm.api.TaskManagerApplication;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the API once on Tomcat's platform thread pool and once on virtual threads
+ * and drives both with 1k concurrent clients listing a board column. While the
+ * virtual-thread run is under load, JFR records every jdk.VirtualThreadPinned
+ * event; a pinned frame in application code fails the benchmark.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmark {
+
+    private static final int CLIENTS = 1_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @Test
+    void virtualThreadsServeOneThousandClientsWithoutPinning() throws Exception {
+        Result platform = run(false);
+        List<String> pinned = new CopyOnWriteArrayList<>();
+        Result virtual;
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                String frame = applicationFrame(event);
+                if (frame != null) {
+                    pinned.add(frame);
+                }
+            });
+            recording.startAsync();
+            virtual = run(true);
+            // Delivers the events still buffered before the stream closes
+            recording.stop();
+        }
+
+        System.out.println("== 1k concurrent clients, GET /tasks?status=TODO ==");
+        System.out.println("platform " + platform);
+        System.out.println("virtual  " + virtual);
+        System.out.println("pinned in application code: " + pinned);
+
+        assertEquals(0, platform.errors(), "platform run had failed requests");
+        assertEquals(0, virtual.errors(), "virtual run had failed requests");
+        assertTrue(pinned.isEmpty(), "Virtual threads pinned in application code: " + pinned);
+        assertTrue(virtual.throughput() > platform.throughput() * 0.8,
+                "Virtual threads regressed throughput: " + virtual + " vs " + platform);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:virtual-threads-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "tm.outbox.poll-interval=PT1H",
+                        "tm.purge.interval=PT1H",
+                        "logging.level.root=WARN")
+                .run();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/tasks?status=TODO&size=20")).GET().build();
+
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+            }
+            return load(client, request);
+        }
+    }
+
+    private Result load(HttpClient client, HttpRequest request) throws InterruptedException {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long began;
+        long elapsed;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+        }
+        elapsed = System.nanoTime() - began;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = elapsed / 1e9;
+        return new Result(sorted.length / seconds, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                errors.get());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.floor(sorted.length * percentile))] / 1e6;
+    }
+
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return null;
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .filter(method -> method.getType().getName().startsWith("com.tm.api"))
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int errors) {
+        @Override
+        public String toString() {
+            return String.format("throughput=%8.0f req/s  p50=%7.2f ms  p99=%7.2f ms  errors=%d",
+                    throughput, p50Millis, p99Millis, errors);
+        }
+    }
+}
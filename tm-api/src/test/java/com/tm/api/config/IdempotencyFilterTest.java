@@ -0,0 +1,173 @@
+package com.tm.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.IntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class IdempotencyFilterTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Test
+    void retriedCreateReturnsTheStoredResponseWithoutWritingAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = task("Retried create");
+
+        MvcResult first = create(key, body).andExpect(status().isCreated()).andReturn();
+        double saved = meterRegistry.counter("idempotency.work_saved").count();
+        MvcResult retry = create(key, body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        assertNull(first.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertEquals(1, tasksTitled("Retried create"));
+        assertEquals(1, outcome("replayed"));
+        assertTrue(meterRegistry.counter("idempotency.work_saved").count() > saved);
+    }
+
+    @Test
+    void concurrentDuplicatesRunOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = task("Concurrent create");
+
+        List<Callable<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(() -> create(key, body).andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString());
+        }
+        Set<String> responses = new HashSet<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<String> response : executor.invokeAll(calls)) {
+                responses.add(response.get());
+            }
+        }
+
+        assertEquals(1, responses.size(), "every duplicate must get the first response");
+        assertEquals(1, tasksTitled("Concurrent create"));
+    }
+
+    @Test
+    void keyReusedForAnotherBodyIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        create(key, task("Original body")).andExpect(status().isCreated());
+
+        create(key, task("Different body")).andExpect(status().isUnprocessableEntity());
+        assertEquals(0, tasksTitled("Different body"));
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotDeduplicated() throws Exception {
+        String body = task("No key");
+        mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+
+        assertEquals(2, tasksTitled("No key"));
+    }
+
+    @Test
+    void cachedBodyCanBeReadWithAReadListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/tasks");
+        request.addHeader(IdempotencyFilter.HEADER, UUID.randomUUID().toString());
+        request.setContent("{\"title\":\"Non-blocking\"}".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = { false };
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            ServletInputStream in = req.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    byte[] buffer = new byte[4];
+                    while (in.isReady() && !in.isFinished()) {
+                        int n = in.read(buffer);
+                        read.write(buffer, 0, n);
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allRead[0] = true;
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    throw new AssertionError(t);
+                }
+            });
+            ((HttpServletResponse) res).setStatus(201);
+        });
+
+        assertTrue(allRead[0]);
+        assertEquals("{\"title\":\"Non-blocking\"}", read.toString(StandardCharsets.UTF_8));
+    }
+
+    private ResultActions create(String key, String body) throws Exception {
+        return mockMvc.perform(post("/tasks")
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    private String task(String title) throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "title", title,
+                "status", "TODO",
+                "priority", "LOW",
+                "dueDate", LocalDateTime.now().plusDays(1).withNano(0).toString()));
+    }
+
+    private int tasksTitled(String title) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = ?", Integer.class, title);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("idempotency.requests", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,90 @@
+package com.tm.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final PriorityAsyncAppender appender = new PriorityAsyncAppender();
+
+    @BeforeEach
+    void start() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> slowConsole = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event.getFormattedMessage());
+            }
+        };
+        slowConsole.setContext(context);
+        slowConsole.start();
+
+        appender.setContext(context);
+        appender.setQueueSize(4);
+        appender.setDiscardingThreshold(2);
+        appender.addAppender(slowConsole);
+        appender.start();
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void dropsDebugBeforeInfoAndNeverDropsWarnings() throws Exception {
+        // The worker takes the first event and blocks on the slow console
+        log(Level.INFO, "blocking");
+        while (appender.getNumberOfElementsInQueue() > 0) {
+            Thread.sleep(5);
+        }
+
+        log(Level.DEBUG, "debug 1");
+        log(Level.DEBUG, "debug 2");
+        log(Level.DEBUG, "debug 3");
+        log(Level.DEBUG, "debug 4 (below threshold)");
+        log(Level.INFO, "info 1");
+        log(Level.INFO, "info 2 (full)");
+        assertEquals(1, appender.getDroppedCount(Level.DEBUG));
+        assertEquals(1, appender.getDroppedCount(Level.INFO));
+
+        Thread warning = Thread.ofVirtual().start(() -> log(Level.WARN, "warn"));
+        warning.join(200);
+        assertTrue(warning.isAlive(), "WARN waits for a free slot instead of being dropped");
+
+        release.countDown();
+        warning.join(5_000);
+        appender.stop();
+        assertEquals(List.of("blocking", "debug 1", "debug 2", "debug 3", "info 1", "warn"), written);
+        assertEquals(0, appender.getDroppedCount(Level.WARN));
+    }
+
+    private void log(Level level, String message) {
+        appender.doAppend(new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message,
+                null, null));
+    }
+}
@@ -0,0 +1,141 @@
+package com.tm.api.config;
+
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "tm.datasource.replica.enabled=true",
+        "tm.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "tm.datasource.replica.read-your-writes-window=PT0S",
+        "tm.datasource.replica.max-lag=PT1H",
+        "tm.datasource.replica.local-sync.enabled=true",
+        "tm.datasource.replica.local-sync.interval=PT1H",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H",
+        "tm.reminders.scan-interval=PT1H",
+        "tm.reminders.dispatch-interval=PT1H",
+        "tm.subtask-counters.repair-initial-delay=PT1H"
+})
+class ReplicaRoutingTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private H2ReplicaSynchronizer synchronizer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ThreadPoolTaskScheduler taskScheduler;
+
+    @BeforeEach
+    void awaitStartupJobs() throws Exception {
+        // Every @Scheduled job runs once at startup, and its commit would count as a write after the snapshot
+        taskScheduler.submit(() -> { }).get(30, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void whenReadOnlyTransaction_thenRoutedToReplica() {
+        synchronizer.sync();
+
+        assertEquals("ROUTING-REPLICA", databaseName(true));
+        assertEquals("ROUTING-PRIMARY", databaseName(false));
+    }
+
+    @Test
+    void whenReplicaSynced_thenReadsSeePrimaryWrites() {
+        TaskDTO created = taskService.create(TaskFixtures.task("Replicated task").build());
+
+        synchronizer.sync();
+
+        assertEquals("Replicated task", taskService.findById(created.getId()).getTitle());
+    }
+
+    @Test
+    void whenWriteCommitsAfterSnapshot_thenReadsStayOnPrimaryUntilNextSync() {
+        synchronizer.sync();
+        createTask("Written after the snapshot");
+
+        assertEquals("ROUTING-PRIMARY", databaseName(true), "the replica does not have the write yet");
+
+        synchronizer.sync();
+        assertEquals("ROUTING-REPLICA", databaseName(true));
+    }
+
+    @Test
+    void whenReplicaResyncs_thenRunningReadsFinishFirst() throws Exception {
+        synchronizer.sync();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch finishRead = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> read = executor.submit(() -> readOnly().execute(status -> {
+                jdbcTemplate.queryForObject("CALL DATABASE()", String.class);
+                reading.countDown();
+                await(finishRead);
+                return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class);
+            }));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+            Future<?> sync = executor.submit(synchronizer::sync);
+            Thread.sleep(300);
+            assertFalse(sync.isDone(), "the replica is not rebuilt under a running read");
+            assertEquals("ROUTING-PRIMARY", databaseName(true), "new reads avoid the replica meanwhile");
+
+            finishRead.countDown();
+            assertNotNull(read.get(5, TimeUnit.SECONDS));
+            sync.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals("ROUTING-REPLICA", databaseName(true));
+    }
+
+    private void createTask(String title) {
+        taskService.create(TaskFixtures.task(title).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("CALL DATABASE()", String.class));
+    }
+}
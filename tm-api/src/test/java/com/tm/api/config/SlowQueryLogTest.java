@@ -0,0 +1,106 @@
+package com.tm.api.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.IntegrationTest;
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Own context: every repository call counts as slow here. */
+@TestPropertySource(properties = {
+        "tm.slow-query.threshold=PT0S",
+        "tm.slow-query.capacity=3"
+})
+class SlowQueryLogTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void emptyLog() {
+        slowQueryLog.clear();
+    }
+
+    @Test
+    void slowCallsAreListedWithArgumentShapesSqlAndPlan() throws Exception {
+        taskRepository.findByStatus(TaskStatus.DOING, PageRequest.of(2, 15));
+
+        JsonNode entries = objectMapper.readTree(mockMvc.perform(get("/actuator/slowqueries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        JsonNode entry = entries.get(0);
+        assertEquals("TaskRepository", entry.get("repository").asText());
+        assertEquals("findByStatus", entry.get("method").asText());
+        assertEquals("TaskStatus.DOING", entry.get("parameters").get(0).asText());
+        assertTrue(entry.get("parameters").get(1).asText().startsWith("Pageable[page=2, size=15"));
+
+        JsonNode statement = entry.get("statements").get(0);
+        assertTrue(statement.get("sql").asText().contains("from tasks"));
+        assertTrue(statement.get("plan").asText().contains("IDX_TASKS_STATUS_POSITION"),
+                statement.get("plan").asText());
+
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "TaskRepository", "method", "findByStatus")
+                .timer());
+        assertEquals(1, meterRegistry.counter("repository.slow_queries",
+                "repository", "TaskRepository", "method", "findByStatus").count(), 0.5);
+    }
+
+    @Test
+    void keepsOnlyTheNewestEntries() {
+        for (int i = 0; i < 5; i++) {
+            taskRepository.findMaxPositionByStatus(TaskStatus.TODO);
+        }
+        taskRepository.count();
+
+        List<SlowQueryLog.SlowQuery> entries = slowQueryLog.entries();
+        assertEquals(3, entries.size());
+        assertEquals("count", entries.get(0).method());
+        assertEquals(List.of(), entries.get(0).parameters());
+    }
+
+    @Test
+    void planCacheIsBoundedByTheLogCapacity() {
+        List<Runnable> distinctStatements = List.of(
+                () -> taskRepository.findAll(PageRequest.of(0, 5)),
+                () -> taskRepository.findMaxPositionByStatus(TaskStatus.TODO),
+                taskRepository::count,
+                () -> taskRepository.findById(UUID.randomUUID()),
+                () -> taskRepository.existsById(UUID.randomUUID()),
+                () -> taskRepository.countDueBefore(TaskStatus.TODO, LocalDateTime.now()));
+        for (Runnable call : distinctStatements) {
+            call.run();
+            slowQueryLog.entries();
+            assertTrue(slowQueryLog.cachedPlans() <= 3, slowQueryLog.cachedPlans() + " cached plans");
+        }
+    }
+}
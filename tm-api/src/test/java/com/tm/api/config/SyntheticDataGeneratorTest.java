@@ -0,0 +1,69 @@
+package com.tm.api.config;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.TaskDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTest extends IntegrationTest {
+
+    private static final String FINGERPRINT = "SELECT CONCAT_WS('|', id, title, status, priority, due_date, "
+            + "created_at, updated_at, subtask_total, subtask_completed) FROM tasks ORDER BY id";
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+
+    @Test
+    void sameSeedGeneratesSameBoard() {
+        generator.generate(300, 7, 64);
+        List<String> first = jdbcTemplate.queryForList(FINGERPRINT, String.class);
+
+        emptyDatabase();
+        generator.generate(300, 7, 64);
+        assertEquals(first, jdbcTemplate.queryForList(FINGERPRINT, String.class));
+
+        emptyDatabase();
+        generator.generate(300, 8, 64);
+        assertNotEquals(first, jdbcTemplate.queryForList(FINGERPRINT, String.class));
+    }
+
+    @Test
+    void generatedBoardIsConsistentAndSkipsTheOutbox() {
+        SyntheticDataGenerator.Result result = generator.generate(2_000, 42, 500);
+
+        assertEquals(2_000, count("SELECT COUNT(*) FROM tasks"));
+        assertEquals(result.subtasks(), count("SELECT COUNT(*) FROM subtasks"));
+        assertEquals(result.activities(), count("SELECT COUNT(*) FROM activities"));
+        assertEquals(0, count("SELECT COUNT(*) FROM outbox_events"));
+
+        assertEquals(3, count("SELECT COUNT(DISTINCT status) FROM tasks"));
+        assertEquals(3, count("SELECT COUNT(DISTINCT priority) FROM tasks"));
+        assertTrue(count("SELECT COUNT(*) FROM tasks WHERE status <> 'DONE' AND due_date < CURRENT_TIMESTAMP") > 0,
+                "some open tasks are overdue");
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks t WHERE subtask_total > 20 OR subtask_total <> "
+                + "(SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id) OR subtask_completed <> "
+                + "(SELECT COUNT(*) FROM subtasks s WHERE s.task_id = t.id AND s.completed)"));
+        assertTrue(count("SELECT MAX(subtask_total) FROM tasks") > 10);
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks t WHERE NOT EXISTS "
+                + "(SELECT 1 FROM activities a WHERE a.task_id = t.id)"), "every task has a history");
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks WHERE (status = 'DONE') <> (completed_at IS NOT NULL)"));
+        assertEquals(2_000, count("SELECT COUNT(DISTINCT status || ':' || position) FROM tasks"),
+                "positions are unique per column");
+
+        TaskDTO created = taskService.create(TaskFixtures.task("After the generator").build());
+        assertEquals(count("SELECT MAX(position) FROM tasks WHERE status = 'TODO'"), created.getPosition().longValue(),
+                "new tasks go after the generated ones");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,173 @@
+package com.tm.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.ActivityDTO;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.OutboxEvent;
+import com.tm.api.model.OutboxEventType;
+import com.tm.api.model.Task;
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxRelayTest extends IntegrationTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private List<OutboxConsumer> consumers;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxWriter outboxWriter;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void auditEventsAreStoredWithTheTaskAndProjectedByTheRelay() {
+        TaskDTO created = taskService.create(task("Outbox"));
+        UUID id = created.getId();
+
+        assertEquals(1, pendingFor(id), "creation event must be committed with the task");
+        assertEquals(0, activitiesFor(id), "activities are produced by the relay, not the request");
+
+        created.setStatus(TaskStatus.DOING);
+        taskService.update(id, created);
+        assertEquals(2, relay.relayPending());
+
+        assertEquals(0, pendingFor(id));
+        List<String> codes = jdbcTemplate.queryForList(
+                "SELECT event_code FROM activities WHERE task_id = ? ORDER BY timestamp", String.class, id);
+        assertTrue(codes.contains("CREATED"));
+        assertTrue(codes.contains("STATUS_CHANGED"));
+        List<String> messages = taskService.findById(id).getActivities().stream()
+                .map(ActivityDTO::getMessage)
+                .toList();
+        assertTrue(messages.contains("Tarefa criada com sucesso"));
+        assertTrue(messages.contains("Status atualizado: TODO → DOING"));
+    }
+
+    @Test
+    void rolledBackChangesLeaveNoEvent() {
+        long before = outboxEventRepository.count();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            taskService.create(task("Rolled back"));
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(before, outboxEventRepository.count());
+    }
+
+    @Test
+    void redeliveredEventIsProjectedOnlyOnce() {
+        UUID id = taskService.create(task("Redelivery")).getId();
+        relay.relayPending();
+        int activities = activitiesFor(id);
+
+        // Simulate a crash between the consumer commit and the processed mark
+        jdbcTemplate.update("UPDATE outbox_events SET processed_at = NULL WHERE task_id = ?", id);
+        relay.relayPending();
+
+        assertEquals(activities, activitiesFor(id));
+        assertEquals(0, pendingFor(id));
+    }
+
+    @Test
+    void failingEventIsRetriedThenParkedWithoutBlockingOthers() {
+        OutboxRelay relay = new OutboxRelay(outboxEventRepository, consumers, transactionTemplate, objectMapper,
+                new SimpleMeterRegistry(), 100, 2, Duration.ofDays(7));
+        UUID id = taskService.create(task("Poison")).getId();
+        relay.relayPending();
+
+        OutboxEvent poison = transactionTemplate.execute(status -> outboxWriter.append(id,
+                OutboxEventType.TASK_AUDIT, java.util.Map.of("oldValues", "not a map", "newValues", "x")));
+        assertNotNull(poison);
+        UUID healthy = taskService.create(task("Healthy")).getId();
+
+        relay.relayPending();
+        assertEquals(0, pendingFor(healthy));
+
+        // One attempt per poll; after max-attempts the event is parked and skipped
+        relay.relayPending();
+        assertEquals(0, relay.relayPending());
+        Integer attempts = jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE id = ?", Integer.class, poison.getId());
+        assertEquals(2, attempts);
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT last_error FROM outbox_events WHERE id = ?", String.class, poison.getId()));
+    }
+
+    @Test
+    void retriedEventKeepsItsPlaceInTheTimeline() {
+        TaskDTO created = taskService.create(task("Timeline"));
+        UUID id = created.getId();
+        relay.relayPending();
+        created.setStatus(TaskStatus.DOING);
+        taskService.update(id, created);
+        created.setTitle("Timeline renamed");
+        taskService.update(id, created);
+
+        // The status event fails its first delivery and is projected after the newer title event
+        UUID statusEvent = jdbcTemplate.queryForObject("SELECT id FROM outbox_events WHERE task_id = ? "
+                + "AND processed_at IS NULL ORDER BY created_at, id LIMIT 1", UUID.class, id);
+        jdbcTemplate.update("UPDATE outbox_events SET processed_at = CURRENT_TIMESTAMP WHERE id = ?", statusEvent);
+        relay.relayPending();
+        jdbcTemplate.update("UPDATE outbox_events SET processed_at = NULL WHERE id = ?", statusEvent);
+        relay.relayPending();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT a.field_name, a.timestamp, e.created_at "
+                + "FROM activities a JOIN outbox_events e ON e.id = a.event_id WHERE a.task_id = ?", id);
+        assertTrue(rows.size() >= 3);
+        rows.forEach(row -> assertEquals(row.get("CREATED_AT"), row.get("TIMESTAMP"), "activity time of " + row));
+    }
+
+    @Test
+    void auditEventsRequireThePublishersTransaction() {
+        Task task = Task.builder().id(UUID.randomUUID()).title("No transaction").build();
+
+        assertThrows(IllegalTransactionStateException.class, () -> eventPublisher.publishEvent(
+                new TaskAuditEvent(this, task, Map.of(), Map.of("status", TaskStatus.TODO))));
+    }
+
+    private TaskDTO task(String title) {
+        return TaskFixtures.task(title).build();
+    }
+
+    private int pendingFor(UUID taskId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE task_id = ? AND processed_at IS NULL", Integer.class, taskId);
+    }
+
+    private int activitiesFor(UUID taskId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM activities WHERE task_id = ?", Integer.class, taskId);
+    }
+}
@@ -0,0 +1,48 @@
+package com.tm.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    private static final LocalDateTime MONDAY_9AM = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Test
+    void whenParsed_thenTextIsCanonical() {
+        assertEquals("DAILY", RecurrenceRule.parse(" daily ").toString());
+        assertEquals("WEEKLY/2", RecurrenceRule.parse("weekly/2").toString());
+        assertEquals("CRON 0 0 9 * * MON-FRI", RecurrenceRule.parse("cron 0 0 9 * * MON-FRI").toString());
+        assertNull(RecurrenceRule.normalize(""));
+    }
+
+    @Test
+    void whenInvalid_thenRejected() {
+        for (String rule : List.of("HOURLY", "DAILY/0", "DAILY/x", "CRON 61 * * * * *", "CRON")) {
+            assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(rule), rule);
+        }
+    }
+
+    @Test
+    void whenCompletedLate_thenNextOccurrenceKeepsTheCadence() {
+        RecurrenceRule everyThreeDays = RecurrenceRule.parse("DAILY/3");
+
+        assertEquals(MONDAY_9AM.plusDays(3), everyThreeDays.next(MONDAY_9AM, MONDAY_9AM.minusDays(1)));
+        assertEquals(MONDAY_9AM.plusDays(9), everyThreeDays.next(MONDAY_9AM, MONDAY_9AM.plusDays(7)));
+        assertEquals(MONDAY_9AM.plusDays(9), everyThreeDays.next(MONDAY_9AM, MONDAY_9AM.plusDays(6)));
+    }
+
+    @Test
+    void whenExpanded_thenOnlyOccurrencesInTheWindowAfterTheAnchor() {
+        List<LocalDateTime> weekdays = RecurrenceRule.parse("CRON 0 0 9 * * MON-FRI")
+                .occurrences(MONDAY_9AM, MONDAY_9AM.minusDays(7), MONDAY_9AM.plusDays(7), 100);
+
+        assertEquals(List.of(MONDAY_9AM.plusDays(1), MONDAY_9AM.plusDays(2), MONDAY_9AM.plusDays(3),
+                MONDAY_9AM.plusDays(4)), weekdays);
+        assertEquals(2, RecurrenceRule.parse("WEEKLY")
+                .occurrences(MONDAY_9AM, MONDAY_9AM, MONDAY_9AM.plusYears(10), 2).size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.tm.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void whenGenerated_thenVersionSevenWithRfcVariant() {
+        UUID id = UuidV7Generator.next();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void whenGenerated_thenTimestampIsCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long millis = id.getMostSignificantBits() >>> 16;
+        // The sequence may borrow a few milliseconds from the future under bursts
+        assertTrue(millis >= before && millis <= after + 100);
+    }
+
+    @Test
+    void whenGeneratedInSequence_thenStrictlyIncreasing() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            assertTrue(current.compareTo(previous) > 0, "Not monotonic: " + previous + " -> " + current);
+            previous = current;
+        }
+    }
+
+    @Test
+    void whenGeneratedConcurrently_thenAllUnique() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(400_000, ids.size());
+    }
+}
@@ -0,0 +1,83 @@
+package com.tm.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts the application on a database created by the old ddl-auto=update
+ * setup, i.e. the V1 schema without a Flyway history. It must be baselined at
+ * V1, receive every later migration and pass Hibernate's schema validation.
+ */
+@SpringBootTest(properties = {
+        "tm.seed.enabled=false",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.purge.interval=PT1H"
+})
+class BaselineMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:pre-flyway;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:db/migration/V1__baseline_schema.sql'");
+            statement.execute("INSERT INTO tasks (id, title, position, status, priority, due_date, deleted) VALUES "
+                    + "('00000000-0000-0000-0000-000000000001', 'Live', 0, 'TODO', 'LOW', CURRENT_TIMESTAMP, false), "
+                    + "('00000000-0000-0000-0000-000000000002', 'Trashed', 1, 'DONE', 'LOW', CURRENT_TIMESTAMP, true)");
+            statement.execute("INSERT INTO subtasks (id, title, completed, task_id) VALUES "
+                    + "(RANDOM_UUID(), 'One', true, '00000000-0000-0000-0000-000000000001'), "
+                    + "(RANDOM_UUID(), 'Two', false, '00000000-0000-0000-0000-000000000001'), "
+                    + "(RANDOM_UUID(), 'Three', true, '00000000-0000-0000-0000-000000000002')");
+            for (String task : List.of("00000000-0000-0000-0000-000000000001", "00000000-0000-0000-0000-000000000002")) {
+                statement.execute("INSERT INTO activities (id, message, field_name, old_val, new_val, task_id) VALUES "
+                        + "(RANDOM_UUID(), 'Tarefa criada com sucesso', NULL, NULL, NULL, '" + task + "'), "
+                        + "(RANDOM_UUID(), 'Status alterado', 'status', 'TODO', 'DONE', '" + task + "'), "
+                        + "(RANDOM_UUID(), 'Algo antigo', NULL, NULL, NULL, '" + task + "')");
+            }
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void legacySchemaIsBaselinedAndMigrated() {
+        List<String> applied = jdbcTemplate.queryForList("SELECT \"type\" || ' ' || \"version\" "
+                + "FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class);
+        assertEquals(List.of("BASELINE 1", "SQL 1.1"), applied.subList(0, 2), "the existing schema is the baseline");
+
+        Map<String, Object> live = jdbcTemplate.queryForMap(
+                "SELECT subtask_total, subtask_completed FROM tasks WHERE title = 'Live'");
+        assertEquals(2, live.get("SUBTASK_TOTAL"));
+        assertEquals(1, live.get("SUBTASK_COMPLETED"));
+
+        Map<String, Object> trashed = jdbcTemplate.queryForMap(
+                "SELECT subtask_total, subtask_completed FROM tasks_archive WHERE title = 'Trashed'");
+        assertEquals(1, trashed.get("SUBTASK_TOTAL"));
+        assertEquals(1, trashed.get("SUBTASK_COMPLETED"));
+
+        // The live and the archived timeline are converted by the same mapping
+        for (String table : List.of("activities", "activities_archive")) {
+            List<String> codes = jdbcTemplate.queryForList("SELECT COALESCE(event_code, message) FROM " + table
+                    + " ORDER BY COALESCE(event_code, message)", String.class);
+            assertEquals(List.of("Algo antigo", "CREATED", "STATUS_CHANGED"), codes, table);
+            assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE message IS NOT NULL",
+                    Integer.class), "only the unmapped row keeps its text in " + table);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.tm.api.repository;
+
+import com.tm.api.model.Task;
+import com.tm.api.model.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Runs every repository query against the migrated schema, captures the SQL
+ * Hibernate sends, and fails if H2's EXPLAIN reports a full table scan.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.tm.api.repository.RepositoryQueryPlanTest$CapturingInspector"
+})
+class RepositoryQueryPlanTest {
+
+    /**
+     * Queries that intentionally visit every row: the counter repair, and the
+     * unfiltered board listing, which returns the whole table.
+     */
+    private static final List<String> FULL_SCAN_ALLOWED = List.of("repairSubtaskCounters", "findAll");
+
+    /**
+     * H2 prints the access path as a comment after each table. A scan without an
+     * index condition shows up as "PUBLIC.T.tableScan" or as a bare primary key.
+     */
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* [\\w.\"]+ \\*/");
+
+    private static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PositionCounterRepository positionCounterRepository;
+
+    @Autowired
+    private PurgeJobRepository purgeJobRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private ArchivedActivityRepository archivedActivityRepository;
+
+    @Autowired
+    private ReminderDeliveryRepository reminderDeliveryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 20);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findById", () -> taskRepository.findById(id));
+        queries.put("findByStatus", () -> taskRepository.findByStatus(TaskStatus.TODO, page));
+        queries.put("findAll", () -> taskRepository.findAll(page));
+        queries.put("findDueBefore", () -> taskRepository.findDueBefore(TaskStatus.TODO, now, page));
+        queries.put("findDueAfter", () -> taskRepository.findDueAfter(TaskStatus.TODO, now, page));
+        queries.put("findDueBetween", () -> taskRepository.findDueBetween(TaskStatus.TODO, now, now.plusDays(1), page));
+        queries.put("countDueBefore", () -> taskRepository.countDueBefore(TaskStatus.TODO, now));
+        queries.put("countByDueDay", () -> taskRepository.countByDueDay(now, now.plusYears(1)));
+        queries.put("findCalendarEntries", () -> taskRepository.findCalendarEntries(now, now.plusDays(1), page));
+        queries.put("findOpenRecurringDueBefore", () -> taskRepository.findOpenRecurringDueBefore(now));
+        queries.put("findRemindersDue", () -> taskRepository.findRemindersDue(now.minusMinutes(15), now));
+        queries.put("findMaxPositionByStatus", () -> taskRepository.findMaxPositionByStatus(TaskStatus.TODO));
+        queries.put("advancePositionCounter", () -> positionCounterRepository.advance(TaskStatus.TODO, 20));
+        queries.put("raisePositionCounter", () -> positionCounterRepository.raiseTo(TaskStatus.TODO, 20));
+        queries.put("findNextPosition", () -> positionCounterRepository.findNextPosition(TaskStatus.TODO));
+        queries.put("findHistoryHead", () -> archivedTaskRepository.findHistoryHead(now, page));
+        queries.put("findHistoryAfter", () -> archivedTaskRepository.findHistoryAfter(now.minusDays(1), now, id, page));
+        queries.put("deleteLiveActivities", () -> archivedTaskRepository.deleteLiveActivities(id));
+        queries.put("deleteLiveSubtasks", () -> archivedTaskRepository.deleteLiveSubtasks(id));
+        queries.put("deleteLiveTask", () -> archivedTaskRepository.deleteLiveTask(id));
+        queries.put("deleteArchivedActivities", () -> archivedTaskRepository.deleteArchivedActivities(id));
+        queries.put("deleteArchivedSubtasks", () -> archivedTaskRepository.deleteArchivedSubtasks(id));
+        queries.put("deleteArchivedTask", () -> archivedTaskRepository.deleteArchivedTask(id));
+        queries.put("deleteActivitiesArchivedAfter", () -> archivedTaskRepository.deleteActivitiesArchivedAfter(now));
+        queries.put("deleteSubtasksArchivedAfter", () -> archivedTaskRepository.deleteSubtasksArchivedAfter(now));
+        queries.put("deleteTasksArchivedAfter", () -> archivedTaskRepository.deleteTasksArchivedAfter(now));
+        queries.put("countPurgeable", () -> archivedTaskRepository.countPurgeable(now));
+        queries.put("findPurgeableIds", () -> archivedTaskRepository.findPurgeableIds(now, page));
+        queries.put("findActivityIds", () -> archivedTaskRepository.findActivityIds(List.of(id), page));
+        queries.put("deleteActivitiesByIds", () -> archivedTaskRepository.deleteActivitiesByIds(List.of(id)));
+        queries.put("findSubtaskIds", () -> archivedTaskRepository.findSubtaskIds(List.of(id), page));
+        queries.put("deleteSubtasksByIds", () -> archivedTaskRepository.deleteSubtasksByIds(List.of(id)));
+        queries.put("deleteTasksByIds", () -> archivedTaskRepository.deleteTasksByIds(List.of(id)));
+        queries.put("existsArchivedActivityByEventId", () -> archivedActivityRepository.existsByEventId(id));
+        queries.put("findActivePurgeJobs", () -> purgeJobRepository.findByStatusInOrderByIdAsc(
+                java.util.Set.of(com.tm.api.model.PurgeJobStatus.PENDING, com.tm.api.model.PurgeJobStatus.RUNNING)));
+        queries.put("repairSubtaskCounters", () -> taskRepository.repairSubtaskCounters());
+        queries.put("existsByEventId", () -> activityRepository.existsByEventId(id));
+        queries.put("findPending", () -> outboxEventRepository.findPending(10, page));
+        queries.put("findOldestPendingCreatedAt", () -> outboxEventRepository.findOldestPendingCreatedAt(10));
+        queries.put("markProcessed", () -> outboxEventRepository.markProcessed(id, now));
+        queries.put("recordFailure", () -> outboxEventRepository.recordFailure(id, "error"));
+        queries.put("countDeadLettered", () -> outboxEventRepository.countDeadLettered(10));
+        queries.put("deleteProcessedBefore", () -> outboxEventRepository.deleteProcessedBefore(now));
+        queries.put("existsReminderDelivery", () -> reminderDeliveryRepository.existsByTaskIdAndReminderTime(id, now));
+        queries.put("findDueReminderDeliveries", () -> reminderDeliveryRepository.findDue("sse", now, page));
+        queries.put("countReminderDeliveriesByStatus", () -> reminderDeliveryRepository.countByStatus(
+                com.tm.api.model.ReminderDeliveryStatus.PENDING));
+        queries.put("markRemindersDelivered", () -> reminderDeliveryRepository.markDelivered(List.of(id), now));
+        queries.put("recordReminderFailure", () -> reminderDeliveryRepository.recordFailure(id,
+                com.tm.api.model.ReminderDeliveryStatus.PENDING, now, "error"));
+        queries.put("deleteFinishedReminderDeliveries", () -> reminderDeliveryRepository.deleteFinishedBefore(now));
+        queries.put("lazySubtasksAndActivities", () -> taskRepository.findByStatus(TaskStatus.TODO, page).forEach(this::touchCollections));
+
+        return queries.entrySet().stream()
+                .map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> assertNoTableScan(entry.getKey(), entry.getValue())));
+    }
+
+    private void touchCollections(Task task) {
+        task.getSubtasks().size();
+        task.getActivities().size();
+    }
+
+    private void assertNoTableScan(String name, Runnable query) throws Exception {
+        List<String> statements = captureStatements(query);
+        assertFalse(statements.isEmpty(), name + " did not execute any SQL");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            if (FULL_SCAN_ALLOWED.contains(name)) {
+                continue;
+            }
+            assertFalse(FULL_SCAN.matcher(plan).find(), name + " performs a full table scan:\n" + plan);
+        }
+    }
+
+    private List<String> captureStatements(Runnable query) {
+        List<String> statements = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            CAPTURED.clear();
+            query.run();
+            statements.addAll(CAPTURED);
+            status.setRollbackOnly();
+        });
+        return statements.stream()
+                .filter(sql -> !sql.trim().toLowerCase(Locale.ROOT).startsWith("insert"))
+                .toList();
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            // Plans are chosen at prepare time, so unbound values do not change them
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+                return plan.toString();
+            }
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+}
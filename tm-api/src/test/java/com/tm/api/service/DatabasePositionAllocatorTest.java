@@ -0,0 +1,64 @@
+package com.tm.api.service;
+
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.PositionCounterRepository;
+import com.tm.api.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:position-counters;DB_CLOSE_DELAY=-1",
+        "tm.outbox.poll-interval=PT1H",
+        "tm.positions.allocator=database"
+})
+class DatabasePositionAllocatorTest {
+
+    @Autowired
+    private PositionAllocator allocator;
+
+    @Autowired
+    private PositionCounterRepository counterRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void instancesSharingTheDatabaseNeverHandOutTheSamePosition() throws Exception {
+        // A second API instance pointed at the same database
+        PositionAllocator other = new DatabasePositionAllocator(counterRepository, taskRepository,
+                transactionManager, 7);
+        Set<Integer> positions = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2_000; i++) {
+            PositionAllocator instance = i % 2 == 0 ? allocator : other;
+            pool.submit(() -> assertTrue(positions.add(instance.next(TaskStatus.DOING))));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals(2_000, positions.size());
+    }
+
+    @Test
+    void explicitPositionsRaiseTheSharedCounter() {
+        allocator.next(TaskStatus.DONE);
+        allocator.observe(TaskStatus.DONE, 500);
+
+        assertTrue(allocator.next(TaskStatus.DONE) > 500);
+        assertTrue(counterRepository.findNextPosition(TaskStatus.DONE).orElseThrow() > 500);
+    }
+}
@@ -0,0 +1,116 @@
+package com.tm.api.service;
+
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:positions;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "tm.outbox.poll-interval=PT1H",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.tm.api.service.PositionAllocationConcurrencyTest$AggregateCounter"
+})
+class PositionAllocationConcurrencyTest {
+
+    private static final int CREATES = 10_000;
+    private static final AtomicInteger MAX_QUERIES = new AtomicInteger();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelCreatesGetUniquePositionsWithoutAggregatePerInsert() throws Exception {
+        MAX_QUERIES.set(0);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<TaskDTO>> futures = new ArrayList<>(CREATES);
+            for (int i = 0; i < CREATES; i++) {
+                String title = "Parallel " + i;
+                futures.add(pool.submit(() -> taskService.create(TaskDTO.builder()
+                        .title(title)
+                        .status(TaskStatus.TODO)
+                        .priority(Priority.LOW)
+                        .dueDate(LocalDateTime.now().plusDays(1))
+                        .build())));
+            }
+            for (Future<TaskDTO> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Sample data from DataInitializer is inserted without positions, so only count ours
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE title LIKE 'Parallel %'", Integer.class);
+        Integer distinct = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT position) FROM tasks WHERE title LIKE 'Parallel %'", Integer.class);
+        assertEquals(CREATES, total);
+        assertEquals(CREATES, distinct, "positions must be unique within the column");
+        assertTrue(MAX_QUERIES.get() <= 1, "MAX(position) ran " + MAX_QUERIES.get() + " times");
+    }
+
+    @Test
+    void tasksMovedOrRestoredIntoAColumnStayBelowNewOnes() {
+        create("Done first", TaskStatus.DONE, null);
+        TaskDTO moved = create("Moved", TaskStatus.TODO, 500);
+        taskService.update(moved.getId(), TaskDTO.builder().status(TaskStatus.DONE).subtasks(null).build());
+        assertTrue(create("Done after move", TaskStatus.DONE, null).getPosition() > 500);
+
+        TaskDTO bulk = create("Bulk moved", TaskStatus.TODO, 700);
+        taskService.bulkUpdateStatus(List.of(bulk.getId()), TaskStatus.DONE);
+        assertTrue(create("Done after bulk", TaskStatus.DONE, null).getPosition() > 700);
+
+        TaskDTO trashed = create("Trashed", TaskStatus.DOING, 900);
+        taskService.delete(trashed.getId());
+        taskService.restoreAllHistory();
+        assertTrue(create("Done after restore", TaskStatus.DONE, null).getPosition() > 900);
+
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) - COUNT(DISTINCT position) FROM tasks WHERE status = 'DONE' "
+                        + "AND title IN ('Done first', 'Moved', 'Done after move', 'Bulk moved', 'Done after bulk', "
+                        + "'Trashed', 'Done after restore')", Integer.class);
+        assertEquals(0, duplicates);
+    }
+
+    private TaskDTO create(String title, TaskStatus status, Integer position) {
+        return taskService.create(TaskDTO.builder()
+                .title(title)
+                .status(status)
+                .position(position)
+                .priority(Priority.LOW)
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    public static class AggregateCounter implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.toLowerCase(Locale.ROOT).contains("max(")) {
+                MAX_QUERIES.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.HistoryPageDTO;
+import com.tm.api.dto.PurgeJobDTO;
+import com.tm.api.exception.TaskPurgeQueuedException;
+import com.tm.api.model.PurgeJobStatus;
+import com.tm.api.model.UuidV7Generator;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.PurgeJobRepository;
+import com.tm.api.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PurgeWorkerTest extends IntegrationTest {
+
+    @Autowired
+    private PurgeService purgeService;
+
+    @Autowired
+    private PurgeJobRepository purgeJobRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskJsonCache taskJsonCache;
+
+    /** Small chunks and row limits, so a handful of tasks takes several chunks. */
+    private PurgeWorker worker;
+
+    @BeforeEach
+    void smallChunks() {
+        worker = new PurgeWorker(purgeJobRepository, archivedTaskRepository, transactionTemplate,
+                new SimpleMeterRegistry(), taskJsonCache, 3, 5, 5);
+    }
+
+    @Test
+    void historyPurgeRunsInChunksAndLeavesLiveTasksAlone() {
+        UUID live = createTask("Live", 1);
+        List<UUID> trashed = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            trashed.add(trash(createTask("Trashed " + i, 2), 4));
+        }
+
+        PurgeJobDTO job = purgeService.purgeHistory();
+        assertTrue(job.getTotalTasks() >= 7);
+        assertTrue(taskService.getHistory(null, 50).getItems().isEmpty(), "queued tasks are hidden from history at once");
+
+        int chunks = 0;
+        while (worker.runChunk()) {
+            chunks++;
+        }
+
+        PurgeJobDTO done = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.COMPLETED, done.getStatus());
+        assertEquals(100, done.getPercent());
+        assertTrue(chunks > 3, "expected several bounded chunks, got " + chunks);
+        for (UUID id : trashed) {
+            assertFalse(archivedTaskRepository.existsById(id));
+        }
+        assertEquals(0, countRows("activities_archive", trashed) + countRows("subtasks_archive", trashed));
+        assertTrue(taskRepository.findById(live).isPresent());
+    }
+
+    @Test
+    void restartedWorkerResumesFromCommittedProgress() {
+        List<UUID> trashed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            trashed.add(trash(createTask("Resume " + i, 0), 0));
+        }
+        PurgeJobDTO job = purgeService.purgeHistory();
+
+        worker.runChunk();
+        PurgeJobDTO partial = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.RUNNING, partial.getStatus());
+        assertEquals(3, partial.getPurgedTasks());
+
+        // A fresh worker sees only what was committed
+        PurgeWorker restarted = new PurgeWorker(purgeJobRepository, archivedTaskRepository, transactionTemplate,
+                new SimpleMeterRegistry(), taskJsonCache, 3, 5, 5);
+        while (restarted.runChunk()) {
+            // drain
+        }
+
+        PurgeJobDTO done = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.COMPLETED, done.getStatus());
+        assertEquals(5, done.getPurgedTasks());
+        for (UUID id : trashed) {
+            assertFalse(archivedTaskRepository.existsById(id));
+        }
+    }
+
+    @Test
+    void hardDeleteRemovesOnlyThatTask() {
+        UUID keep = trash(createTask("Keep in trash", 1), 1);
+        UUID remove = trash(createTask("Remove", 3), 12);
+
+        PurgeJobDTO job = purgeService.purgeTask(remove);
+        assertTrue(taskService.getHistory(null, 50).getItems().stream().noneMatch(t -> t.getId().equals(remove)));
+        while (worker.runChunk()) {
+            // drain
+        }
+
+        PurgeJobDTO done = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.COMPLETED, done.getStatus());
+        assertEquals(1, done.getPurgedTasks());
+        assertTrue(done.getPurgedActivities() >= 12);
+        assertFalse(archivedTaskRepository.existsById(remove));
+        assertTrue(taskService.getHistory(null, 50).getItems().stream().anyMatch(t -> t.getId().equals(keep)));
+    }
+
+    @Test
+    void restoreRejectsTaskQueuedForHardDelete() {
+        UUID remove = trash(createTask("Restore while queued", 1), 1);
+        PurgeJobDTO job = purgeService.purgeTask(remove);
+
+        assertThrows(TaskPurgeQueuedException.class, () -> taskService.restore(remove));
+        while (worker.runChunk()) {
+            // drain
+        }
+
+        PurgeJobDTO done = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.COMPLETED, done.getStatus());
+        assertEquals(1, done.getPurgedTasks());
+        assertFalse(taskRepository.existsById(remove));
+        assertFalse(archivedTaskRepository.existsById(remove));
+    }
+
+    @Test
+    void restoreAllLeavesTasksQueuedForHardDelete() {
+        UUID keep = trash(createTask("Restore all keep", 1), 1);
+        UUID remove = trash(createTask("Restore all remove", 2), 2);
+        PurgeJobDTO job = purgeService.purgeTask(remove);
+
+        taskService.restoreAllHistory();
+        assertTrue(taskRepository.existsById(keep));
+        assertFalse(taskRepository.existsById(remove));
+        assertTrue(archivedTaskRepository.existsById(remove));
+        assertEquals(2, countRows("subtasks_archive", List.of(remove)));
+
+        while (worker.runChunk()) {
+            // drain
+        }
+        PurgeJobDTO done = purgeService.findJob(job.getId());
+        assertEquals(PurgeJobStatus.COMPLETED, done.getStatus());
+        assertEquals(1, done.getPurgedTasks());
+        assertEquals(2, done.getPurgedSubtasks());
+        assertFalse(archivedTaskRepository.existsById(remove));
+    }
+
+    @Test
+    void historyPagesStayFullWhileHardDeletesAreQueued() {
+        List<UUID> kept = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            kept.add(trash(createTask("Paged keep " + i, 0), 0));
+        }
+        List<UUID> removed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            removed.add(trash(createTask("Paged remove " + i, 0), 0));
+        }
+        // The newest trash is queued, so an unfiltered first page would hold only purged tasks
+        removed.forEach(purgeService::purgeTask);
+
+        List<UUID> listed = new ArrayList<>();
+        String cursor = null;
+        do {
+            HistoryPageDTO page = taskService.getHistory(cursor, 2);
+            cursor = page.getNextCursor();
+            if (cursor != null) {
+                assertEquals(2, page.getItems().size(), "only the last page may be short");
+            }
+            page.getItems().forEach(entry -> listed.add(entry.getId()));
+        } while (cursor != null);
+
+        assertTrue(listed.containsAll(kept));
+        assertTrue(listed.stream().noneMatch(removed::contains));
+    }
+
+    private UUID createTask(String title, int subtasks) {
+        return taskService.create(TaskFixtures.task(title).subtasks(TaskFixtures.steps(title, subtasks)).build())
+                .getId();
+    }
+
+    private UUID trash(UUID id, int activities) {
+        taskService.delete(id);
+        for (int i = 0; i < activities; i++) {
+            jdbcTemplate.update("INSERT INTO activities_archive (id, message, timestamp, task_id) VALUES (?, ?, ?, ?)",
+                    UuidV7Generator.next(), "Atividade " + i, LocalDateTime.now(), id);
+        }
+        return id;
+    }
+
+    private int countRows(String table, List<UUID> taskIds) {
+        int total = 0;
+        for (UUID id : taskIds) {
+            total += jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE task_id = ?",
+                    Integer.class, id);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,117 @@
+package com.tm.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadCoalescer coalescer = new ReadCoalescer(meterRegistry, true);
+
+    @Test
+    void concurrentIdenticalReadsShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+
+        List<Future<Object>> calls = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                calls.add(executor.submit(() -> coalescer.execute("board", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return result;
+                })));
+            }
+            waitForFollowers(9);
+            release.countDown();
+            for (Future<Object> call : calls) {
+                assertSame(result, call.get());
+            }
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(0.9, meterRegistry.get("tasks.read_coalescing.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void finishedReadsAreNotReused() {
+        AtomicInteger executions = new AtomicInteger();
+        coalescer.execute("board", executions::incrementAndGet);
+        coalescer.execute("board", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void readsStartedBeforeACommittedWriteAreNotJoined() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> before = executor.submit(() -> coalescer.execute("board", () -> {
+                await(release);
+                return executions.incrementAndGet();
+            }));
+            while (meterRegistry.get("tasks.read_coalescing.in_flight").gauge().value() < 1) {
+                Thread.sleep(1);
+            }
+
+            coalescer.afterCommit(new SimpleTransactionStatus(), null);
+            Future<Integer> after = executor.submit(() -> coalescer.execute("board", executions::incrementAndGet));
+
+            assertEquals(1, after.get(5, TimeUnit.SECONDS), "the read after the write must run on its own");
+            release.countDown();
+            assertEquals(2, before.get());
+        }
+    }
+
+    @Test
+    void failuresReachEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Object>> calls = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 3; i++) {
+                calls.add(executor.submit(() -> coalescer.execute("missing", () -> {
+                    await(release);
+                    throw new IllegalStateException("not found");
+                })));
+            }
+            waitForFollowers(2);
+            release.countDown();
+            for (Future<Object> call : calls) {
+                Exception e = assertThrows(Exception.class, call::get);
+                assertTrue(e.getCause() instanceof IllegalStateException, e.toString());
+            }
+        }
+    }
+
+    private void waitForFollowers(int expected) throws InterruptedException {
+        while (meterRegistry.get("tasks.read_coalescing.requests").tag("role", "follower").counter().count()
+                < expected) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.dto.SubtaskDTO;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurringTaskTest extends IntegrationTest {
+
+    @Test
+    void completingAnOccurrenceCreatesOnlyTheNextOne() {
+        LocalDateTime due = LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.MINUTES);
+        TaskDTO chore = taskService.create(TaskDTO.builder()
+                .title("Water the plants")
+                .status(TaskStatus.TODO)
+                .priority(Priority.LOW)
+                .dueDate(due)
+                .reminderEnabled(true)
+                .reminderTime(due.minusMinutes(30))
+                .recurrenceRule("daily/2")
+                .subtasks(List.of(SubtaskDTO.builder().title("Balcony").completed(true).build()))
+                .build());
+        assertEquals("DAILY/2", chore.getRecurrenceRule());
+
+        TaskDTO done = taskService.update(chore.getId(), TaskDTO.builder().status(TaskStatus.DONE).subtasks(null).build());
+        assertNull(done.getRecurrenceRule(), "the rule moves to the next occurrence");
+
+        List<UUID> series = jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE title = 'Water the plants' AND id <> ?", UUID.class, chore.getId());
+        assertEquals(1, series.size());
+        TaskDTO next = taskService.findById(series.get(0));
+        assertEquals(TaskStatus.TODO, next.getStatus());
+        assertEquals(due.plusDays(2), next.getDueDate());
+        assertEquals(due.plusDays(2).minusMinutes(30), next.getReminderTime());
+        assertEquals("DAILY/2", next.getRecurrenceRule());
+        assertEquals(1, next.getSubtaskTotal());
+        assertEquals(0, next.getSubtaskCompleted());
+
+        // Reopening and completing again does not add a second occurrence
+        taskService.update(chore.getId(), TaskDTO.builder().status(TaskStatus.TODO).subtasks(null).build());
+        taskService.bulkUpdateStatus(List.of(chore.getId()), TaskStatus.DONE);
+        assertEquals(2, count("Water the plants"));
+    }
+
+    @Test
+    void dueWindowsExpandRulesWithoutInsertingRows() {
+        LocalDateTime due = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+        TaskDTO weekly = taskService.create(TaskDTO.builder()
+                .title("Weekly review")
+                .status(TaskStatus.TODO)
+                .priority(Priority.MEDIUM)
+                .dueDate(due)
+                .recurrenceRule("WEEKLY")
+                .build());
+
+        Page<TaskDTO> year = taskService.findByDueWindow(null, false, null, due.plusWeeks(52).plusHours(1), null,
+                PageRequest.of(0, 10));
+        List<TaskDTO> series = year.getContent().stream()
+                .filter(task -> task.getTitle().equals("Weekly review"))
+                .toList();
+        assertEquals(weekly.getId(), series.get(0).getId());
+        assertEquals(weekly.getId(), series.get(1).getOccurrenceOf());
+        assertNull(series.get(1).getId());
+        assertEquals(due.plusWeeks(1), series.get(1).getDueDate());
+        assertTrue(year.getTotalElements() >= 53, "52 virtual occurrences plus the task itself");
+        assertEquals(1, count("Weekly review"));
+
+        Page<TaskDTO> doing = taskService.findByDueWindow(TaskStatus.DOING, false, null, due.plusWeeks(4), null,
+                PageRequest.of(0, 10));
+        assertFalse(doing.getContent().stream().anyMatch(task -> task.getOccurrenceOf() != null),
+                "occurrences are TODO");
+
+        Page<TaskDTO> overdue = taskService.findByDueWindow(null, true, null, null, null, PageRequest.of(0, 10));
+        assertFalse(overdue.getContent().stream().anyMatch(task -> task.getOccurrenceOf() != null));
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        TaskDTO dto = TaskDTO.builder()
+                .title("Broken")
+                .status(TaskStatus.TODO)
+                .priority(Priority.LOW)
+                .dueDate(LocalDateTime.now().plusDays(1))
+                .recurrenceRule("HOURLY")
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> taskService.create(dto));
+    }
+
+    private int count(String title) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = ?", Integer.class, title);
+    }
+}
@@ -0,0 +1,195 @@
+package com.tm.api.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.event.TaskEventStream;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Own context: the webhook sink is only registered when its URL is set. */
+@TestPropertySource(properties = {
+        "tm.reminders.max-attempts=3",
+        "tm.reminders.backoff=PT0.1S",
+        "tm.reminders.max-backoff=PT0.2S"
+})
+class ReminderDispatcherTest extends IntegrationTest {
+
+    /** Local stand-in for the webhook receiver: answers 503 while FAILURES_LEFT is positive. */
+    private static final HttpServer WEBHOOK = startWebhook();
+    private static final List<String> RECEIVED = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger FAILURES_LEFT = new AtomicInteger();
+    private static final AtomicInteger CALLS = new AtomicInteger();
+
+    @Autowired
+    private NotificationScheduler scheduler;
+
+    @Autowired
+    private ReminderDispatcher dispatcher;
+
+    @Autowired
+    private TaskEventStream taskEventStream;
+
+    private final List<SseEmitter> subscribers = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void webhook(DynamicPropertyRegistry registry) {
+        registry.add("tm.reminders.webhook.url",
+                () -> "http://localhost:" + WEBHOOK.getAddress().getPort() + "/reminders");
+    }
+
+    @AfterEach
+    void disconnect() {
+        subscribers.forEach(SseEmitter::complete);
+        // Without a servlet container the completion callback never runs; the next send drops them
+        taskEventStream.publish(SseEmitter.event().comment("bye"));
+        RECEIVED.clear();
+        FAILURES_LEFT.set(0);
+        CALLS.set(0);
+    }
+
+    @AfterAll
+    static void stopWebhook() {
+        WEBHOOK.stop(0);
+    }
+
+    @Test
+    void dueRemindersAreFiredOnceAndDeliveredInOneBatchPerSink() throws Exception {
+        List<UUID> due = List.of(
+                createTask("Call the bank", TaskStatus.TODO, LocalDateTime.now().minusSeconds(30)),
+                createTask("Send the report", TaskStatus.DOING, LocalDateTime.now().minusMinutes(2)),
+                createTask("Book the room", TaskStatus.TODO, LocalDateTime.now().minusSeconds(5)));
+        UUID done = createTask("Already done", TaskStatus.DONE, LocalDateTime.now().minusSeconds(30));
+        UUID future = createTask("Later", TaskStatus.TODO, LocalDateTime.now().plusHours(1));
+
+        assertEquals(3, scheduler.checkReminders());
+        assertEquals(0, scheduler.checkReminders(), "a reminder fires only once");
+        for (UUID id : due) {
+            assertEquals(List.of("PENDING", "PENDING"), statuses(id));
+        }
+        assertEquals(List.of(), statuses(done));
+        assertEquals(List.of(), statuses(future));
+
+        // No board is open, so the SSE batch is skipped; the webhook is down and keeps its batch for a retry
+        FAILURES_LEFT.set(1);
+        assertEquals(3, dispatcher.dispatchPending());
+        assertEquals(1, CALLS.get());
+        assertEquals(0, dispatcher.dispatchPending(), "nothing is retried before the backoff");
+
+        Thread.sleep(300);
+        assertEquals(3, dispatcher.dispatchPending());
+
+        assertEquals(2, CALLS.get(), "one webhook call for the whole batch");
+        assertTrue(RECEIVED.get(0).contains("Call the bank") && RECEIVED.get(0).contains("Send the report")
+                && RECEIVED.get(0).contains("Book the room"), RECEIVED.get(0));
+        for (UUID id : due) {
+            assertEquals(List.of("DELIVERED", "DELIVERED"), statuses(id));
+            assertEquals(1, attempts(id, "sse"));
+            assertEquals(2, attempts(id, "webhook"));
+        }
+    }
+
+    @Test
+    void sseBatchIsRetriedOnlyWhenEveryOpenBoardFails() throws Exception {
+        UUID id = createTask("Board went away", TaskStatus.TODO, LocalDateTime.now().minusSeconds(10));
+        scheduler.checkReminders();
+        SseEmitter closed = taskEventStream.subscribe();
+        closed.complete();
+
+        dispatcher.dispatchPending();
+        assertEquals("PENDING", status(id, "sse"));
+        assertEquals(1, attempts(id, "sse"));
+
+        subscribers.add(taskEventStream.subscribe());
+        Thread.sleep(300);
+        dispatcher.dispatchPending();
+        assertEquals("DELIVERED", status(id, "sse"));
+        assertEquals(2, attempts(id, "sse"));
+    }
+
+    @Test
+    void failingSinkIsParkedWithoutHoldingUpTheOthers() throws Exception {
+        UUID id = createTask("Unreachable webhook", TaskStatus.TODO, LocalDateTime.now().minusSeconds(10));
+        scheduler.checkReminders();
+        subscribers.add(taskEventStream.subscribe());
+        FAILURES_LEFT.set(Integer.MAX_VALUE);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            dispatcher.dispatchPending();
+            Thread.sleep(300);
+        }
+
+        assertEquals("DELIVERED", status(id, "sse"));
+        assertEquals("FAILED", status(id, "webhook"));
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT last_error FROM reminder_deliveries WHERE task_id = ? AND sink = 'webhook'", String.class, id));
+        assertEquals(0, dispatcher.dispatchPending(), "parked deliveries are not retried");
+    }
+
+    private List<String> statuses(UUID taskId) {
+        return jdbcTemplate.queryForList(
+                "SELECT status FROM reminder_deliveries WHERE task_id = ? ORDER BY sink", String.class, taskId);
+    }
+
+    private int attempts(UUID taskId, String sink) {
+        return jdbcTemplate.queryForObject(
+                "SELECT attempts FROM reminder_deliveries WHERE task_id = ? AND sink = ?", Integer.class, taskId, sink);
+    }
+
+    private String status(UUID taskId, String sink) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM reminder_deliveries WHERE task_id = ? AND sink = ?", String.class, taskId, sink);
+    }
+
+    private UUID createTask(String title, TaskStatus status, LocalDateTime reminderTime) {
+        return taskService.create(TaskFixtures.task(title)
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .reminderEnabled(true)
+                .reminderTime(reminderTime)
+                .build()).getId();
+    }
+
+    private static HttpServer startWebhook() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/reminders", exchange -> {
+                CALLS.incrementAndGet();
+                String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                int status = FAILURES_LEFT.getAndUpdate(left -> Math.max(left - 1, 0)) > 0 ? 503 : 204;
+                if (status == 204) {
+                    RECEIVED.add(body);
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.HistoryEntryDTO;
+import com.tm.api.dto.HistoryPageDTO;
+import com.tm.api.dto.SubtaskDTO;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.OutboxRelay;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskArchiverTest extends IntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Test
+    void deleteMovesTaskWithChildrenToArchiveAndRestoreMovesItBack() {
+        UUID id = createTask("Archive me");
+        relay.relayPending();
+
+        taskService.delete(id);
+        relay.relayPending();
+
+        assertFalse(taskRepository.existsById(id));
+        assertEquals(0, count("subtasks", id) + count("activities", id));
+        assertEquals(2, count("subtasks_archive", id));
+        assertTrue(eventCodes("activities_archive", id).contains("TRASHED"),
+                "events projected after the move land in the archive");
+
+        HistoryEntryDTO archived = taskService.getHistory(null, 50).getItems().stream()
+                .filter(t -> t.getId().equals(id))
+                .findFirst()
+                .orElseThrow();
+        assertNotNull(archived.getDeletedAt());
+        assertEquals(TaskStatus.DOING, archived.getStatus());
+        assertEquals(2, archived.getSubtaskTotal());
+        assertEquals(1, archived.getSubtaskCompleted());
+        assertEquals(count("activities_archive", id), archived.getActivityCount());
+
+        TaskDTO restored = taskService.restore(id);
+        relay.relayPending();
+
+        assertEquals(TaskStatus.DOING, restored.getStatus());
+        assertEquals(2, count("subtasks", id));
+        assertEquals(0, count("tasks_archive", id) + count("subtasks_archive", id) + count("activities_archive", id));
+        List<String> live = eventCodes("activities", id);
+        assertTrue(live.contains("TRASHED"));
+        assertTrue(live.contains("RESTORED"));
+    }
+
+    @Test
+    void restoreAllBringsArchivedTasksBackAsDone() {
+        UUID first = createTask("Restore all 1");
+        UUID second = createTask("Restore all 2");
+        taskService.delete(first);
+        taskService.delete(second);
+
+        taskService.restoreAllHistory();
+
+        assertTrue(taskService.getHistory(null, 50).getItems().isEmpty());
+        assertEquals(TaskStatus.DONE, taskService.findById(first).getStatus());
+        assertEquals(TaskStatus.DONE, taskService.findById(second).getStatus());
+        assertEquals(2, count("subtasks", second));
+    }
+
+    @Test
+    void historyPagesFollowTheCursorNewestFirst() {
+        List<UUID> trashed = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            UUID id = createTask("Paged " + i);
+            taskService.delete(id);
+            trashed.add(0, id);
+        }
+
+        List<UUID> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            HistoryPageDTO page = taskService.getHistory(cursor, 3);
+            page.getItems().forEach(entry -> listed.add(entry.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(trashed, listed.stream().filter(trashed::contains).toList());
+        assertEquals(listed.size(), new HashSet<>(listed).size(), "no entry is listed twice");
+        assertTrue(pages >= 3);
+        assertThrows(IllegalArgumentException.class, () -> taskService.getHistory("not-a-cursor", 3));
+    }
+
+    @Override
+    protected UUID createTask(String title) {
+        return taskService.create(TaskFixtures.task(title)
+                .status(TaskStatus.DOING)
+                .priority(Priority.HIGH)
+                .subtasks(List.of(
+                        SubtaskDTO.builder().title("Done step").completed(true).build(),
+                        SubtaskDTO.builder().title("Open step").build()))
+                .build()).getId();
+    }
+
+    private int count(String table, UUID taskId) {
+        String column = table.startsWith("tasks") ? "id" : "task_id";
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?",
+                Integer.class, taskId);
+    }
+
+    private List<String> eventCodes(String table, UUID taskId) {
+        return jdbcTemplate.queryForList("SELECT event_code FROM " + table + " WHERE task_id = ?", String.class,
+                taskId);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.CalendarDayDTO;
+import com.tm.api.dto.CalendarEntryDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskCalendarTest extends IntegrationTest {
+
+    private static final LocalDate DAY = LocalDate.of(2040, 3, 14);
+
+    @Test
+    void daysAreCountedByStatusAndPriorityIncludingRecurringOccurrences() {
+        create("Morning", TaskStatus.TODO, Priority.HIGH, DAY.atTime(9, 0), null);
+        create("Afternoon", TaskStatus.DOING, Priority.HIGH, DAY.atTime(15, 30), null);
+        create("Late", TaskStatus.DONE, Priority.LOW, DAY.atTime(23, 59), null);
+        create("Next day", TaskStatus.TODO, Priority.MEDIUM, DAY.plusDays(1).atStartOfDay(), null);
+        create("Outside", TaskStatus.TODO, Priority.MEDIUM, DAY.plusDays(30).atTime(12, 0), null);
+        UUID standup = create("Standup", TaskStatus.TODO, Priority.LOW, DAY.minusDays(7).atTime(10, 0), "WEEKLY");
+
+        List<CalendarDayDTO> days = taskService.getCalendar(DAY.minusDays(7), DAY.plusDays(1));
+
+        assertEquals(List.of(DAY.minusDays(7), DAY, DAY.plusDays(1)), days.stream().map(CalendarDayDTO::getDate).toList());
+        CalendarDayDTO day = days.get(1);
+        assertEquals(4, day.getTotal());
+        assertEquals(Map.of(TaskStatus.TODO, 2L, TaskStatus.DOING, 1L, TaskStatus.DONE, 1L), day.getByStatus());
+        assertEquals(Map.of(Priority.HIGH, 2L, Priority.LOW, 2L), day.getByPriority());
+        assertEquals(1, days.get(2).getTotal());
+
+        List<CalendarEntryDTO> entries = taskService.getCalendarDay(DAY, 200);
+        assertEquals(List.of("Morning", "Standup", "Afternoon", "Late"),
+                entries.stream().map(CalendarEntryDTO::getTitle).toList());
+        assertNull(entries.get(1).getId());
+        assertEquals(standup, entries.get(1).getOccurrenceOf());
+        assertEquals(List.of("Morning", "Standup"),
+                taskService.getCalendarDay(DAY, 2).stream().map(CalendarEntryDTO::getTitle).toList());
+    }
+
+    @Test
+    void rangesAreBounded() {
+        create("New year", TaskStatus.TODO, Priority.LOW, LocalDate.of(2042, 1, 1).atTime(23, 0), null);
+        List<CalendarDayDTO> year = taskService.getCalendar(LocalDate.of(2041, 1, 1), LocalDate.of(2042, 1, 1));
+        assertEquals(LocalDate.of(2042, 1, 1), year.get(year.size() - 1).getDate(), "366 days, the last one included");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getCalendar(LocalDate.of(2041, 1, 1), LocalDate.of(2042, 1, 2)));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.getCalendar(DAY, DAY.minusDays(1)));
+    }
+
+    private UUID create(String title, TaskStatus status, Priority priority, LocalDateTime due, String rule) {
+        return taskService.create(TaskFixtures.task(title)
+                .status(status)
+                .priority(priority)
+                .dueDate(due)
+                .recurrenceRule(rule)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,157 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.TaskFixtures;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.model.Priority;
+import com.tm.api.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TaskDueWindowTest extends IntegrationTest {
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    }
+
+    @Test
+    void overdueListsOpenTasksDueInThePast() {
+        create("Late todo", TaskStatus.TODO, now.minusHours(2));
+        create("Late doing", TaskStatus.DOING, now.minusHours(1));
+        create("Late but done", TaskStatus.DONE, now.minusHours(3));
+        create("Upcoming", TaskStatus.TODO, now.plusHours(1));
+
+        Page<TaskDTO> overdue = taskService.findByDueWindow(null, true, null, null, null, PageRequest.of(0, 10));
+
+        assertEquals(List.of("Late todo", "Late doing"), titles(overdue));
+        assertEquals(2, overdue.getTotalElements());
+    }
+
+    @Test
+    void overdueWithStatusListsOnlyThatColumn() {
+        create("Late todo", TaskStatus.TODO, now.minusHours(2));
+        create("Late doing", TaskStatus.DOING, now.minusHours(1));
+
+        Page<TaskDTO> doing = taskService.findByDueWindow(TaskStatus.DOING, true, null, null, null, PageRequest.of(0, 10));
+        assertEquals(List.of("Late doing"), titles(doing));
+
+        Page<TaskDTO> done = taskService.findByDueWindow(TaskStatus.DONE, true, null, null, null, PageRequest.of(0, 10));
+        assertEquals(0, done.getTotalElements(), "done tasks are never overdue");
+    }
+
+    @Test
+    void dueWithinHoursListsOpenTasksDueSoon() {
+        create("Past", TaskStatus.TODO, now.minusHours(1));
+        create("Soon todo", TaskStatus.TODO, now.plusHours(1));
+        create("Soon doing", TaskStatus.DOING, now.plusHours(2));
+        create("Soon but done", TaskStatus.DONE, now.plusMinutes(90));
+        create("Later", TaskStatus.TODO, now.plusHours(5));
+
+        Page<TaskDTO> soon = taskService.findByDueWindow(null, false, null, null, 3, PageRequest.of(0, 10));
+
+        assertEquals(List.of("Soon todo", "Soon doing"), titles(soon));
+    }
+
+    @Test
+    void explicitBoundsIncludeEveryStatus() {
+        create("Before", TaskStatus.TODO, now.plusHours(12));
+        create("Inside done", TaskStatus.DONE, now.plusDays(2));
+        create("Inside todo", TaskStatus.TODO, now.plusHours(36));
+        create("On the lower bound", TaskStatus.DOING, now.plusDays(1));
+        create("On the upper bound", TaskStatus.TODO, now.plusDays(3));
+
+        Page<TaskDTO> window = taskService.findByDueWindow(null, false, now.plusDays(1), now.plusDays(3), null,
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of("On the lower bound", "Inside todo", "Inside done"), titles(window));
+    }
+
+    @Test
+    void explicitBoundsNarrowOverdue() {
+        create("Long overdue", TaskStatus.TODO, now.minusDays(3));
+        create("Recently overdue", TaskStatus.DOING, now.minusHours(6));
+
+        Page<TaskDTO> recent = taskService.findByDueWindow(null, true, now.minusDays(1), null, null,
+                PageRequest.of(0, 10));
+
+        assertEquals(List.of("Recently overdue"), titles(recent));
+    }
+
+    @Test
+    void statusHeadsAreMergedByDueDateAndPaged() {
+        create("T1", TaskStatus.TODO, now.plusHours(1));
+        create("D2", TaskStatus.DOING, now.plusHours(2));
+        create("X3", TaskStatus.DONE, now.plusHours(3));
+        create("T4", TaskStatus.TODO, now.plusHours(4));
+        create("D5", TaskStatus.DOING, now.plusHours(5));
+
+        List<String> pages = new java.util.ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<TaskDTO> result = taskService.findByDueWindow(null, false, now, null, null, PageRequest.of(page, 2));
+            assertEquals(5, result.getTotalElements());
+            assertEquals(3, result.getTotalPages());
+            pages.addAll(titles(result));
+        }
+
+        assertEquals(List.of("T1", "D2", "X3", "T4", "D5"), pages);
+    }
+
+    @Test
+    void equalDueDatesAreOrderedByIdAcrossStatusesAndPages() {
+        LocalDateTime due = now.plusHours(2);
+        List<java.util.UUID> ids = new java.util.ArrayList<>();
+        for (TaskStatus status : List.of(TaskStatus.DOING, TaskStatus.TODO, TaskStatus.DOING, TaskStatus.TODO)) {
+            ids.add(create("Tied " + status, status, due));
+        }
+
+        List<java.util.UUID> paged = new java.util.ArrayList<>();
+        for (int page = 0; page < ids.size(); page++) {
+            taskService.findByDueWindow(null, false, now, null, null, PageRequest.of(page, 1))
+                    .forEach(task -> paged.add(task.getId()));
+        }
+
+        assertEquals(ids.stream().sorted().toList(), paged);
+    }
+
+    @Test
+    void emptyWindowReturnsNoPage() {
+        create("Later", TaskStatus.TODO, now.plusDays(1));
+
+        Page<TaskDTO> inverted = taskService.findByDueWindow(null, false, now.plusDays(2), now.plusDays(1), null,
+                PageRequest.of(0, 10));
+
+        assertEquals(0, inverted.getTotalElements());
+    }
+
+    @Test
+    void dueWithinHoursMustBePositive() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.findByDueWindow(null, false, null, null, 0, PageRequest.of(0, 10)));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.findByDueWindow(null, false, null, null, -4, PageRequest.of(0, 10)));
+    }
+
+    private java.util.UUID create(String title, TaskStatus status, LocalDateTime dueDate) {
+        return taskService.create(TaskFixtures.task(title)
+                .status(status)
+                .priority(Priority.MEDIUM)
+                .dueDate(dueDate)
+                .build()).getId();
+    }
+
+    private static List<String> titles(Page<TaskDTO> page) {
+        return page.getContent().stream().map(TaskDTO::getTitle).toList();
+    }
+}
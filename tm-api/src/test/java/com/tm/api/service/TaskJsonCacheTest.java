@@ -0,0 +1,90 @@
+package com.tm.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tm.api.IntegrationTest;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TaskJsonCacheTest extends IntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedReadsAreServedFromCacheWithIdenticalJson() throws Exception {
+        UUID id = createTask("Cached task");
+        relay.relayPending();
+
+        String first = read(id);
+        double hits = counter("tasks.json_cache.hits");
+        String second = read(id);
+
+        assertEquals(first, second);
+        assertEquals(hits + 1, counter("tasks.json_cache.hits"));
+        assertEquals(objectMapper.readTree(first), objectMapper.valueToTree(taskService.findById(id)),
+                "cached fragment must match what Jackson writes for the task");
+    }
+
+    @Test
+    void writesAndProjectedActivitiesInvalidateTheFragment() throws Exception {
+        UUID id = createTask("Before rename");
+        relay.relayPending();
+        read(id);
+
+        taskService.update(id, TaskDTO.builder().title("After rename").build());
+        JsonNode renamed = objectMapper.readTree(read(id));
+        assertEquals("After rename", renamed.get("title").asText());
+        int activities = renamed.get("activities").size();
+
+        // The activity lands asynchronously and does not touch updatedAt
+        relay.relayPending();
+        assertEquals(activities + 1, objectMapper.readTree(read(id)).get("activities").size());
+    }
+
+    @Test
+    void activityMessagesFollowTheRequestLanguage() throws Exception {
+        UUID id = createTask("Localized task");
+        relay.relayPending();
+
+        assertEquals("Tarefa criada com sucesso", firstMessage(read(id)));
+        String english = mockMvc.perform(get("/tasks/{id}", id).header("Accept-Language", "en"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Task created", firstMessage(english));
+        assertEquals("Tarefa criada com sucesso", firstMessage(read(id)));
+    }
+
+    private String firstMessage(String json) throws Exception {
+        return objectMapper.readTree(json).get("activities").get(0).get("message").asText();
+    }
+
+    private String read(UUID id) throws Exception {
+        return mockMvc.perform(get("/tasks/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+}
@@ -1,11 +1,14 @@
 package com.tm.api.service;
 
+import com.tm.api.dto.SubtaskDTO;
 import com.tm.api.dto.TaskDTO;
 import com.tm.api.event.TaskAuditEvent;
 import com.tm.api.mapper.TaskMapper;
 import com.tm.api.model.Priority;
 import com.tm.api.model.Task;
 import com.tm.api.model.TaskStatus;
+import com.tm.api.repository.ArchivedTaskRepository;
+import com.tm.api.repository.PurgeJobRepository;
 import com.tm.api.repository.TaskRepository;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -19,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,6 +43,16 @@ class TaskServiceTest {
     private TaskMapper taskMapper;
     @Mock
     private Counter counter;
+    @Mock
+    private PositionAllocator positionAllocator;
+    @Mock
+    private PurgeJobRepository purgeJobRepository;
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+    @Mock
+    private TaskArchiver taskArchiver;
+    @Mock
+    private TaskJsonCache taskJsonCache;
 
     @InjectMocks
     private TaskService taskService;
@@ -130,4 +144,25 @@ class TaskServiceTest {
         assertTrue(event.getNewValues().containsKey("prioridade"));
         assertTrue(event.getNewValues().containsKey("status"));
     }
+
+    @Test
+    void whenUpdateSubtasks_thenMaintainDenormalizedCounters() {
+        // Arrange
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(sampleTask));
+        when(taskRepository.save(any(Task.class))).thenReturn(sampleTask);
+
+        TaskDTO updateDTO = TaskDTO.builder()
+                .subtasks(List.of(
+                        SubtaskDTO.builder().title("First").completed(true).build(),
+                        SubtaskDTO.builder().title("Second").completed(false).build()))
+                .build();
+
+        // Act
+        taskService.update(taskId, updateDTO);
+
+        // Assert
+        assertEquals(2, sampleTask.getSubtaskTotal());
+        assertEquals(1, sampleTask.getSubtaskCompleted());
+        assertEquals(50.0, sampleTask.getProgress());
+    }
 }
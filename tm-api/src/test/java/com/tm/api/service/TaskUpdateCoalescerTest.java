@@ -0,0 +1,85 @@
+package com.tm.api.service;
+
+import com.tm.api.IntegrationTest;
+import com.tm.api.dto.TaskDTO;
+import com.tm.api.event.OutboxRelay;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskUpdateCoalescerTest extends IntegrationTest {
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rapidEditsBecomeOneWriteAndOneActivity() throws Exception {
+        UUID id = createTask("Typing");
+        TaskUpdateCoalescer coalescer = new TaskUpdateCoalescer(taskService, meterRegistry, true,
+                Duration.ofMillis(500), 1000);
+        coalescer.start();
+        double writes = meterRegistry.counter("tasks.write_coalescing.writes").count();
+
+        List<Future<TaskDTO>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String description : List.of("D", "Do", "Done")) {
+                responses.add(executor.submit(() -> coalescer.update(id, edit(description))));
+                Thread.sleep(50);
+            }
+            for (Future<TaskDTO> response : responses) {
+                assertEquals("Done", response.get().getDescription(), "every caller sees the merged write");
+            }
+        }
+        coalescer.stop();
+        relay.relayPending();
+
+        assertEquals(writes + 1, meterRegistry.counter("tasks.write_coalescing.writes").count());
+        List<Map<String, Object>> changes = jdbcTemplate.queryForList(
+                "SELECT old_val, new_val FROM activities WHERE task_id = ? AND event_code = 'DESCRIPTION_CHANGED'", id);
+        assertEquals(1, changes.size());
+        assertEquals("Done", changes.get(0).get("NEW_VAL"));
+    }
+
+    @Test
+    void shutdownFlushesOpenBatchesAndBypassesWhenFull() throws Exception {
+        UUID first = createTask("Flushed on stop");
+        UUID second = createTask("Written directly");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TaskUpdateCoalescer bounded = new TaskUpdateCoalescer(taskService, registry, true, Duration.ofMinutes(1), 1);
+        bounded.start();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<TaskDTO> waiting = executor.submit(() -> bounded.update(first, edit("pending")));
+            while (registry.get("tasks.write_coalescing.pending").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertEquals("direct", bounded.update(second, edit("direct")).getDescription());
+            assertEquals(1, registry.counter("tasks.write_coalescing.bypassed").count());
+
+            bounded.stop();
+            assertEquals("pending", waiting.get(5, TimeUnit.SECONDS).getDescription());
+        }
+        assertEquals("pending", taskService.findById(first).getDescription());
+    }
+
+    private TaskDTO edit(String description) {
+        return TaskDTO.builder().description(description).subtasks(null).build();
+    }
+}
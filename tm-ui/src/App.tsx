@@ -11,6 +11,7 @@ import { exportTasks } from './services/Exporter';
 
 import { useKanbanTasks } from './hooks/useKanbanTasks';
 import { useTheme } from './hooks/useTheme';
+import { taskService } from './services/api';
 import type { Task } from './services/api';
 
 function App() {
@@ -85,36 +86,28 @@ function App() {
     return () => clearInterval(interval);
   }, [isAlerting]);
 
-  // Monitor for reminders
+  // Reminders are pushed by the server; a batch may repeat after a redelivery
   useEffect(() => {
-    const interval = setInterval(() => {
-      const now = new Date();
-      tasks.forEach(task => {
-        if (task.reminderEnabled && task.reminderTime && task.status !== 'DONE') {
-          const reminderTime = new Date(task.reminderTime);
-          const diff = now.getTime() - reminderTime.getTime();
-
-          const notifiedKey = `notified_${task.id}_${reminderTime.getTime()}`;
-          if (diff >= 0 && diff < 60000 && !sessionStorage.getItem(notifiedKey)) {
-            addToast('success', `Lembrete GP: ${task.title}`);
-            sessionStorage.setItem(notifiedKey, 'true');
-
-            // Trigger Alarm Actions
-            playAlarmSound();
-            setIsAlerting(true);
-
-            if (Notification.permission === 'granted') {
-              new Notification('To Do GP - Inteligência', {
-                body: `Hora de agir: ${task.title}`,
-                icon: '/logo.png'
-              });
-            }
-          }
+    return taskService.subscribeReminders((batch) => {
+      batch.forEach(reminder => {
+        const notifiedKey = `notified_${reminder.taskId}_${new Date(reminder.reminderTime).getTime()}`;
+        if (sessionStorage.getItem(notifiedKey)) return;
+        sessionStorage.setItem(notifiedKey, 'true');
+        addToast('success', `Lembrete GP: ${reminder.title}`);
+
+        // Trigger Alarm Actions
+        playAlarmSound();
+        setIsAlerting(true);
+
+        if (Notification.permission === 'granted') {
+          new Notification('To Do GP - Inteligência', {
+            body: `Hora de agir: ${reminder.title}`,
+            icon: '/logo.png'
+          });
         }
       });
-    }, 15000); // Check every 15s for better precision
-    return () => clearInterval(interval);
-  }, [tasks, addToast]);
+    });
+  }, [addToast]);
 
   // Request notification permission
   useEffect(() => {
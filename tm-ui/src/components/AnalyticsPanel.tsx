@@ -23,10 +23,9 @@ export const AnalyticsPanel: React.FC<AnalyticsPanelProps> = ({ tasks }) => {
 
     // Calculate Efficiency (Subtasks completed / total)
     const calculateEfficiency = () => {
-        const tasksWithSubtasks = tasks.filter(t => t.subtasks && t.subtasks.length > 0);
-        if (tasksWithSubtasks.length === 0) return '100%';
-        const total = tasksWithSubtasks.reduce((acc, t) => acc + t.subtasks!.length, 0);
-        const done = tasksWithSubtasks.reduce((acc, t) => acc + t.subtasks!.filter(s => s.completed).length, 0);
+        const total = tasks.reduce((acc, t) => acc + (t.subtaskTotal ?? 0), 0);
+        if (total === 0) return '100%';
+        const done = tasks.reduce((acc, t) => acc + (t.subtaskCompleted ?? 0), 0);
         return `${Math.round((done / total) * 100)}%`;
     };
 
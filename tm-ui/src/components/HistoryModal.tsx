@@ -1,13 +1,15 @@
 import React from 'react';
-import type { Task } from '../services/api';
+import type { HistoryEntry } from '../services/api';
 import { X, RotateCcw, Trash2, Clock, Calendar } from 'lucide-react';
 
 interface HistoryModalProps {
     isOpen: boolean;
     onClose: () => void;
-    history: Task[];
-    onRestore: (task: Task) => void;
-    onHardDelete: (task: Task) => void;
+    history: HistoryEntry[];
+    hasMore?: boolean;
+    onLoadMore?: () => void;
+    onRestore: (task: HistoryEntry) => void;
+    onHardDelete: (task: HistoryEntry) => void;
     onClearHistory: () => void;
     onRestoreAll: () => void;
 }
@@ -16,6 +18,8 @@ export const HistoryModal: React.FC<HistoryModalProps> = ({
     isOpen,
     onClose,
     history,
+    hasMore = false,
+    onLoadMore,
     onRestore,
     onHardDelete,
     onClearHistory,
@@ -40,7 +44,7 @@ export const HistoryModal: React.FC<HistoryModalProps> = ({
                             <Clock size={20} />
                         </div>
                         <h2 className="text-xl font-bold">Histórico</h2>
-                        <span className="text-sm font-normal text-gray-500 ml-2">({history.length})</span>
+                        <span className="text-sm font-normal text-gray-500 ml-2">({history.length}{hasMore ? '+' : ''})</span>
                     </div>
 
                     <div className="flex items-center gap-2">
@@ -102,6 +106,14 @@ export const HistoryModal: React.FC<HistoryModalProps> = ({
                                     </div>
                                 </div>
                             ))}
+                            {hasMore && onLoadMore && (
+                                <button
+                                    onClick={onLoadMore}
+                                    className="w-full py-2 text-sm font-medium text-blue-600 hover:bg-blue-50 dark:text-blue-400 dark:hover:bg-blue-900/30 rounded-lg transition-colors"
+                                >
+                                    Carregar mais
+                                </button>
+                            )}
                         </div>
                     )}
                 </div>
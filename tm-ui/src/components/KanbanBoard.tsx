@@ -20,7 +20,7 @@ import type {
 } from '@dnd-kit/core';
 import { arrayMove, sortableKeyboardCoordinates } from '@dnd-kit/sortable';
 import { KanbanColumn } from './KanbanColumn';
-import type { Task } from '../services/api';
+import type { HistoryEntry, Task } from '../services/api';
 import { taskService } from '../services/api';
 import { TaskCardContent } from './TaskCard';
 import { Trash2, History } from 'lucide-react';
@@ -74,7 +74,8 @@ export const KanbanBoard: React.FC<KanbanBoardProps> = ({
     });
 
     // History & Modal State
-    const [history, setHistory] = useState<Task[]>([]);
+    const [history, setHistory] = useState<HistoryEntry[]>([]);
+    const [historyCursor, setHistoryCursor] = useState<string | null>(null);
     const [isHistoryModalOpen, setIsHistoryModalOpen] = useState(false);
 
     const buildTaskPayload = (task: Task, updates: Partial<Task> = {}) => ({
@@ -100,7 +101,19 @@ export const KanbanBoard: React.FC<KanbanBoardProps> = ({
     const fetchHistory = async () => {
         try {
             const { data } = await taskService.getHistory();
-            setHistory(data);
+            setHistory(data.items);
+            setHistoryCursor(data.nextCursor ?? null);
+        } catch (error) {
+            console.error("Failed to fetch history", error);
+        }
+    };
+
+    const loadMoreHistory = async () => {
+        if (!historyCursor) return;
+        try {
+            const { data } = await taskService.getHistory(historyCursor);
+            setHistory(prev => [...prev, ...data.items]);
+            setHistoryCursor(data.nextCursor ?? null);
         } catch (error) {
             console.error("Failed to fetch history", error);
         }
@@ -189,7 +202,7 @@ export const KanbanBoard: React.FC<KanbanBoardProps> = ({
         fetchHistory();
     };
 
-    const handleRestoreFromHistory = async (taskToRestore: Task) => {
+    const handleRestoreFromHistory = async (taskToRestore: HistoryEntry) => {
         try {
             // 1. Restore the task (Undelete)
             const response = await taskService.restore(taskToRestore.id);
@@ -218,7 +231,7 @@ export const KanbanBoard: React.FC<KanbanBoardProps> = ({
         }
     };
 
-    const handleHardDelete = (taskToDelete: Task) => {
+    const handleHardDelete = (taskToDelete: HistoryEntry) => {
         setConfirmationModal({
             isOpen: true,
             title: 'Excluir permanentemente',
@@ -468,6 +481,8 @@ export const KanbanBoard: React.FC<KanbanBoardProps> = ({
                 isOpen={isHistoryModalOpen}
                 onClose={() => setIsHistoryModalOpen(false)}
                 history={history}
+                hasMore={historyCursor !== null}
+                onLoadMore={loadMoreHistory}
                 onRestore={handleRestoreFromHistory}
                 onHardDelete={handleHardDelete}
                 onClearHistory={handleClearHistory}
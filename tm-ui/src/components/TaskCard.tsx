@@ -74,8 +74,8 @@ export const TaskCardContent: React.FC<TaskCardContentProps> = ({
     };
 
     const overdue = isOverdue(task.dueDate, task.status);
-    const completedSubtasks = task.subtasks?.filter(st => st.completed).length || 0;
-    const totalSubtasks = task.subtasks?.length || 0;
+    const completedSubtasks = task.subtaskCompleted ?? task.subtasks?.filter(st => st.completed).length ?? 0;
+    const totalSubtasks = task.subtaskTotal ?? task.subtasks?.length ?? 0;
     const progressPercent = totalSubtasks > 0 ? (completedSubtasks / totalSubtasks) * 100 : 0;
 
     const handlePriorityToggle = (e: React.MouseEvent) => {
@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import type { Task, Subtask } from '../services/api';
+import type { Task, Subtask, Activity } from '../services/api';
 import { taskService } from '../services/api';
 import { X, Plus, Trash2, CheckSquare, Square, History, Sparkles, Star, Calendar } from 'lucide-react';
 import { format, parseISO, isValid, addDays, setHours, setMinutes } from 'date-fns';
@@ -100,6 +100,18 @@ export const TaskForm: React.FC<TaskFormProps> = ({ isOpen, onClose, onSuccess,
         }
     };
 
+    // List entries carry no activity timeline; the editor loads it by id
+    const [activities, setActivities] = useState<Activity[]>([]);
+    useEffect(() => {
+        setActivities([]);
+        if (!isOpen || !taskToEdit?.id) return;
+        let active = true;
+        taskService.getById(taskToEdit.id)
+            .then(({ data }) => { if (active) setActivities(data.activities ?? []); })
+            .catch(() => { /* the form stays usable without the timeline */ });
+        return () => { active = false; };
+    }, [isOpen, taskToEdit?.id]);
+
     // Sync state when taskToEdit changes
     useEffect(() => {
         if (isOpen) {
@@ -822,7 +834,7 @@ export const TaskForm: React.FC<TaskFormProps> = ({ isOpen, onClose, onSuccess,
                         </section>
 
                         {/* Activity Feed Section */}
-                        {taskToEdit && taskToEdit.activities && taskToEdit.activities.length > 0 && (
+                        {taskToEdit && activities.length > 0 && (
                             <section className="pt-2">
                                 <div className="flex items-center gap-2 mb-4 text-slate-400">
                                     <History size={14} />
@@ -830,7 +842,7 @@ export const TaskForm: React.FC<TaskFormProps> = ({ isOpen, onClose, onSuccess,
                                 </div>
                                 <div className="space-y-4 max-h-[160px] overflow-y-auto pr-3 custom-scrollbar">
                                     <div className="flex flex-col gap-4">
-                                        {taskToEdit.activities?.map((activity: any) => (
+                                        {activities.map((activity: Activity) => (
                                             <div key={activity.id} className="relative pl-6 pb-2 border-l-2 border-slate-100 dark:border-white/5 last:border-0 group/log">
                                                 <div className="absolute -left-[7px] top-1 w-3 h-3 rounded-full bg-white dark:bg-slate-800 border-2 border-slate-200 dark:border-white/20 shadow-sm group-hover/log:scale-125 transition-transform" />
                                                 <div className="space-y-1">
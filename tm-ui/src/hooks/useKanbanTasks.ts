@@ -116,6 +116,11 @@ export const useKanbanTasks = () => {
             // Update with actual response data
             setTasks(prev => prev.map(t => t.id === id ? response.data : t));
             addToast('success', 'Tarefa atualizada!');
+
+            // Completing a recurring task created its next occurrence
+            if (current.recurrenceRule && current.status !== 'DONE' && response.data.status === 'DONE') {
+                loadTasks();
+            }
         } catch (error) {
             console.error('Failed to update task:', error);
             addToast('error', 'Falha ao atualizar tarefa');
@@ -31,7 +31,12 @@ export interface Task {
     important: boolean;
     reminderEnabled: boolean;
     reminderTime?: string;
+    recurrenceRule?: string;
+    occurrenceOf?: string;
     overdue?: boolean;
+    progress?: number;
+    subtaskTotal?: number;
+    subtaskCompleted?: number;
     createdAt?: string;
 
 
@@ -39,6 +44,7 @@ export interface Task {
     completedAt?: string;
     deletedAt?: string;
     subtasks?: Subtask[];
+    /** Only on single-task responses; list entries omit the timeline. */
     activities?: Activity[];
 }
 
@@ -50,18 +56,92 @@ export interface PaginatedResponse<T> {
     number: number;
 }
 
+export interface HistoryEntry {
+    id: string;
+    title: string;
+    status: 'TODO' | 'DOING' | 'DONE';
+    completedAt?: string;
+    deletedAt: string;
+    subtaskTotal: number;
+    subtaskCompleted: number;
+    activityCount: number;
+}
+
+export interface HistoryPage {
+    items: HistoryEntry[];
+    nextCursor?: string | null;
+}
+
+export interface PurgeJob {
+    id: string;
+    taskId?: string;
+    status: 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+    totalTasks: number;
+    purgedTasks: number;
+    purgedSubtasks: number;
+    purgedActivities: number;
+    percent: number;
+    createdAt?: string;
+    startedAt?: string;
+    finishedAt?: string;
+    lastError?: string;
+}
+
+export interface CalendarDay {
+    date: string;
+    total: number;
+    byStatus: Partial<Record<'TODO' | 'DOING' | 'DONE', number>>;
+    byPriority: Partial<Record<'LOW' | 'MEDIUM' | 'HIGH', number>>;
+}
+
+export interface CalendarEntry {
+    id?: string | null;
+    title: string;
+    status: 'TODO' | 'DOING' | 'DONE';
+    priority: 'LOW' | 'MEDIUM' | 'HIGH';
+    dueDate: string;
+    important: boolean;
+    subtaskTotal: number;
+    subtaskCompleted: number;
+    occurrenceOf?: string | null;
+}
+
+export interface ReminderNotification {
+    taskId: string;
+    title: string;
+    reminderTime: string;
+}
+
 export const taskService = {
     getAll: (status?: string, page = 0, size = 100) =>
         api.get<PaginatedResponse<Task>>('/tasks', { params: { status, page, size } }),
+    getByDueWindow: (
+        window: { overdue?: boolean; dueAfter?: string; dueBefore?: string; dueWithinHours?: number; status?: string },
+        page = 0,
+        size = 100
+    ) => api.get<PaginatedResponse<Task>>('/tasks', { params: { ...window, page, size } }),
     getById: (id: string) => api.get<Task>(`/tasks/${id}`),
     create: (task: Omit<Task, 'id' | 'createdAt'>) => api.post<Task>('/tasks', task),
     update: (id: string, task: Partial<Task>) => api.put<Task>(`/tasks/${id}`, task),
     delete: (id: string) => api.delete(`/tasks/${id}`),
     restore: (id: string) => api.post<Task>(`/tasks/${id}/restore`),
-    hardDelete: (id: string) => api.delete(`/tasks/${id}/hard`),
-    clearHistory: () => api.delete('/tasks/history'),
+    hardDelete: (id: string) => api.delete<PurgeJob>(`/tasks/${id}/hard`),
+    clearHistory: () => api.delete<PurgeJob>('/tasks/history'),
+    getPurgeJob: (jobId: string) => api.get<PurgeJob>(`/tasks/purge-jobs/${jobId}`),
     restoreAllHistory: () => api.post('/tasks/history/restore'),
-    getHistory: () => api.get<Task[]>('/tasks/history'),
+    getHistory: (cursor?: string, limit = 50) =>
+        api.get<HistoryPage>('/tasks/history', { params: { cursor, limit } }),
+    // Dates are YYYY-MM-DD; both ends of the range are included
+    getCalendar: (from: string, to: string) =>
+        api.get<CalendarDay[]>('/tasks/calendar', { params: { from, to } }),
+    getCalendarDay: (date: string, limit = 200) =>
+        api.get<CalendarEntry[]>(`/tasks/calendar/${date}`, { params: { limit } }),
     reorder: (taskPositions: { id: string, position: number }[]) => api.post('/tasks/reorder', taskPositions),
     bulkStatus: (ids: string[], status: 'TODO' | 'DOING' | 'DONE') => api.post('/tasks/bulk-status', { ids, status }),
+    // Server-pushed reminders; the browser reconnects on its own if the stream drops
+    subscribeReminders: (onReminders: (batch: ReminderNotification[]) => void) => {
+        const source = new EventSource(`${api.defaults.baseURL}/tasks/stream`);
+        source.addEventListener('reminders', (event) => onReminders(JSON.parse((event as MessageEvent).data)));
+        return () => source.close();
+    },
 };